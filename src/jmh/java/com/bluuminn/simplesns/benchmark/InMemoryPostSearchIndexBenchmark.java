@@ -0,0 +1,73 @@
+package com.bluuminn.simplesns.benchmark;
+
+import com.bluuminn.simplesns.repository.PostSearchHit;
+import com.bluuminn.simplesns.service.InMemoryPostSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * in-memory 검색 index의 top-20 검색과 post 수정(재색인) 시간.
+ * 단어는 zipf 분포에 가깝게 뽑아서 "w0"(가장 흔한 단어)는 대부분의 post에, "w50"은 약 8%의 post에 들어간다.
+ * repository/transaction은 rebuild에서만 쓰므로 null로 만든다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class InMemoryPostSearchIndexBenchmark {
+    private static final int VOCABULARY = 5_000;
+    private static final int WORDS_PER_POST = 30;
+    private static final int LIMIT = 20;
+
+    @Param({"100000"})
+    private int posts;
+
+    private InMemoryPostSearchIndex index;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        index = new InMemoryPostSearchIndex(null, null, new SimpleMeterRegistry());
+        random = new Random(42);
+        for (int postId = 1; postId <= posts; postId++) {
+            index.index(postId, text(5), text(WORDS_PER_POST));
+        }
+        index.compact();
+    }
+
+    private String text(int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            // 0 ~ VOCABULARY 를 1/x 에 가까운 빈도로 뽑는다
+            int word = (int) Math.pow(VOCABULARY, random.nextDouble()) - 1;
+            text.append('w').append(word).append(' ');
+        }
+        return text.toString();
+    }
+
+    @Benchmark
+    public List<PostSearchHit> searchCommonTerm() {
+        return index.search("w0", null, LIMIT);
+    }
+
+    @Benchmark
+    public List<PostSearchHit> searchTwoTerms() {
+        return index.search("w0 w50", null, LIMIT);
+    }
+
+    // 수정은 바뀐 term만 posting에 추가/stale 표시하므로 post 수와 무관해야 한다
+    @Benchmark
+    public void reindexPost() {
+        index.index(random.nextInt(posts) + 1, text(5), text(WORDS_PER_POST));
+    }
+}
@@ -0,0 +1,52 @@
+package com.bluuminn.simplesns.benchmark;
+
+import com.bluuminn.simplesns.util.JwtTokenUtils;
+import com.bluuminn.simplesns.util.JwtTokenVerifier;
+import com.bluuminn.simplesns.util.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인(토큰 발급)과 인증 필터(토큰 검증)의 요청 당 비용.
+ * uncached는 서명 검증까지 하는 JwtTokenUtils 경로, cached는 JwtTokenVerifier의 검증 결과 캐시 hit 경로다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class JwtTokenBenchmark {
+    private static final String KEY = "bluuminn.sns-application-2023.secret_key";
+    private static final long EXPIRED_TIME_MS = 30L * 24 * 60 * 60 * 1000;
+
+    private String token;
+    private JwtTokenVerifier verifier;
+
+    @Setup
+    public void setUp() {
+        token = JwtTokenUtils.generateToken("username", KEY, EXPIRED_TIME_MS);
+        verifier = new JwtTokenVerifier(KEY, 10_000L, new SimpleMeterRegistry());
+        verifier.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return JwtTokenUtils.generateToken("username", KEY, EXPIRED_TIME_MS);
+    }
+
+    @Benchmark
+    public String extractClaimsUncached() {
+        return JwtTokenUtils.getUsername(token, KEY);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return verifier.verify(token);
+    }
+}
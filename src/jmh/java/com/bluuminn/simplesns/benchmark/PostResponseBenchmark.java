@@ -0,0 +1,79 @@
+package com.bluuminn.simplesns.benchmark;
+
+import com.bluuminn.simplesns.controller.response.PostPageResponse;
+import com.bluuminn.simplesns.controller.response.PostResponse;
+import com.bluuminn.simplesns.controller.response.Response;
+import com.bluuminn.simplesns.domain.PostEntity;
+import com.bluuminn.simplesns.domain.UserEntity;
+import com.bluuminn.simplesns.model.Post;
+import com.bluuminn.simplesns.model.PostPage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 피드 한 페이지의 entity → model → response 변환과 JSON 직렬화 비용.
+ * ObjectMapper는 Spring Boot와 같은 기본 설정(Jackson2ObjectMapperBuilder)으로 만든다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class PostResponseBenchmark {
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private List<PostEntity> entities;
+    private Response<Page<PostResponse>> pageResponse;
+    private Response<PostPageResponse> postPageResponse;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        UserEntity user = UserEntity.builder().id(1).username("username").password("password").build();
+        entities = IntStream.range(0, pageSize)
+                .mapToObj(i -> PostEntity.of("title " + i, "body ".repeat(40) + i, user))
+                .collect(Collectors.toList());
+
+        PageRequest pageable = PageRequest.of(0, pageSize);
+        List<Post> posts = entities.stream().map(Post::fromEntity).collect(Collectors.toList());
+        pageResponse = Response.success(new PageImpl<>(posts, pageable, 10_000).map(PostResponse::fromPost));
+        postPageResponse = Response.success(PostPageResponse.fromPage(PostPage.approximate(new SliceImpl<>(posts, pageable, true), 10_000)));
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public List<PostResponse> mapEntityToResponse() {
+        return entities.stream()
+                .map(Post::fromEntity)
+                .map(PostResponse::fromPost)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pageResponse);
+    }
+
+    // GET /api/v1/posts 가 실제로 반환하는 형태
+    @Benchmark
+    public byte[] serializePostPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(postPageResponse);
+    }
+}
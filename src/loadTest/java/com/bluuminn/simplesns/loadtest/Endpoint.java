@@ -0,0 +1,15 @@
+package com.bluuminn.simplesns.loadtest;
+
+/**
+ * 부하 테스트가 호출하는 요청 종류. loadtest.mix, loadtest.budgets의 key로 사용한다.
+ */
+public enum Endpoint {
+    // GET /api/v1/posts?page=0..4&size=20
+    FEED,
+    // POST /api/v1/posts/{postId}/likes
+    LIKE,
+    // POST /api/v1/posts
+    CREATE,
+    // POST /api/v1/users/login
+    LOGIN
+}
@@ -0,0 +1,125 @@
+package com.bluuminn.simplesns.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * endpoint 하나의 측정 결과. report.json에 그대로 직렬화된다.
+ */
+public class EndpointResult {
+    private final Endpoint endpoint;
+    private final long requests;
+    private final long errors;
+    private final double throughput;
+    private final double p50Ms;
+    private final double p95Ms;
+    private final double p99Ms;
+    private final double maxMs;
+    private final double queriesPerRequest;
+
+    private EndpointResult(Endpoint endpoint, long requests, long errors, double throughput,
+                           double p50Ms, double p95Ms, double p99Ms, double maxMs, double queriesPerRequest) {
+        this.endpoint = endpoint;
+        this.requests = requests;
+        this.errors = errors;
+        this.throughput = throughput;
+        this.p50Ms = p50Ms;
+        this.p95Ms = p95Ms;
+        this.p99Ms = p99Ms;
+        this.maxMs = maxMs;
+        this.queriesPerRequest = queriesPerRequest;
+    }
+
+    /**
+     * latenciesNanos는 측정 구간의 모든 요청(실패 포함) 지연 시간이고 errors는 그 중 실패한 수다. 정렬해서 nearest-rank 백분위를 구한다.
+     */
+    public static EndpointResult of(Endpoint endpoint, long[] latenciesNanos, long errors, double seconds, double queriesPerRequest) {
+        long[] sorted = latenciesNanos.clone();
+        Arrays.sort(sorted);
+        return new EndpointResult(endpoint, sorted.length, errors, sorted.length / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : toMillis(sorted[sorted.length - 1]), queriesPerRequest);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return toMillis(sorted[Math.max(0, rank - 1)]);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    public List<String> violations(LoadTestProperties.Budget budget, double maxErrorRate) {
+        List<String> violations = new ArrayList<>();
+        if (budget == null) {
+            return violations;
+        }
+        check(violations, "p50", p50Ms, budget.getP50Ms());
+        check(violations, "p95", p95Ms, budget.getP95Ms());
+        check(violations, "p99", p99Ms, budget.getP99Ms());
+        if (budget.getMinThroughput() > 0 && throughput < budget.getMinThroughput()) {
+            violations.add(String.format("%s throughput %.1f/s < %.1f/s", endpoint, throughput, budget.getMinThroughput()));
+        }
+        if (budget.getMaxQueries() > 0 && queriesPerRequest > budget.getMaxQueries()) {
+            violations.add(String.format("%s queries/request %.2f > %.2f", endpoint, queriesPerRequest, budget.getMaxQueries()));
+        }
+        double errorRate = requests == 0 ? 0 : (double) errors / requests;
+        if (errorRate > maxErrorRate) {
+            violations.add(String.format("%s error rate %.3f > %.3f", endpoint, errorRate, maxErrorRate));
+        }
+        return violations;
+    }
+
+    private void check(List<String> violations, String name, double actualMs, long budgetMs) {
+        if (budgetMs > 0 && actualMs > budgetMs) {
+            violations.add(String.format("%s %s %.1fms > %dms", endpoint, name, actualMs, budgetMs));
+        }
+    }
+
+    public Endpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getThroughput() {
+        return throughput;
+    }
+
+    public double getP50Ms() {
+        return p50Ms;
+    }
+
+    public double getP95Ms() {
+        return p95Ms;
+    }
+
+    public double getP99Ms() {
+        return p99Ms;
+    }
+
+    public double getMaxMs() {
+        return maxMs;
+    }
+
+    public double getQueriesPerRequest() {
+        return queriesPerRequest;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-7s requests=%-7d errors=%-4d throughput=%8.1f/s p50=%7.1fms p95=%7.1fms p99=%7.1fms max=%7.1fms queries/request=%.2f",
+                endpoint, requests, errors, throughput, p50Ms, p95Ms, p99Ms, maxMs, queriesPerRequest);
+    }
+}
@@ -0,0 +1,350 @@
+package com.bluuminn.simplesns.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 실제 서버(random port)를 embedded PostgreSQL에 띄우고, 데이터를 채운 뒤 피드 조회/좋아요/작성/로그인을 섞어서 동시에 호출한다.
+ * endpoint 별 p50/p95/p99 지연 시간, 처리량, 요청 당 query 수를 build/reports/loadtest/report.json에 남기고
+ * loadtest.budgets를 넘으면 실패한다.
+ *
+ * <p>요청 당 query 수는 부하 구간과 별도로 endpoint 마다 순차 요청을 보내 hibernate statistics의 prepared statement 수로 구한다.
+ * 커밋 이후 비동기로 처리되는 작업(알람 저장 등)의 query도 포함된다.
+ */
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoadTest {
+    private static final Logger log = LoggerFactory.getLogger(LoadTest.class);
+    private static final EmbeddedPostgres POSTGRES = start();
+    private static final String USERNAME_PREFIX = "loadtest";
+    private static final String PASSWORD = "password";
+    private static final int FEED_PAGES = 5;
+    private static final int FEED_PAGE_SIZE = 20;
+    // 비동기 알람 저장이 끝날 때까지 기다리는 시간
+    private static final long ASYNC_SETTLE_MS = 500;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private Environment environment;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private LoadTestProperties properties;
+    // 시드 post id는 sequence 간격(50) 때문에 연속적이지 않으므로 한 번 읽어 둔다
+    private List<Integer> postIds;
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        POSTGRES.close();
+    }
+
+    @DisplayName("피드 조회/좋아요/작성/로그인을 섞은 부하에서 endpoint 별 budget을 지키는 경우")
+    @Test
+    void load() throws Exception {
+        properties = Binder.get(environment).bind("loadtest", LoadTestProperties.class)
+                .orElseThrow(() -> new IllegalStateException("loadtest properties are missing"));
+        seed();
+        postIds = jdbcTemplate.queryForList("SELECT id FROM \"post\"", Integer.class);
+
+        Map<Endpoint, Double> queriesPerRequest = calibrate();
+
+        log.info("Warming up for {}s with concurrency {}", properties.getWarmupSeconds(), properties.getConcurrency());
+        run(properties.getWarmupSeconds(), new Recorder());
+
+        log.info("Measuring for {}s with concurrency {}", properties.getDurationSeconds(), properties.getConcurrency());
+        Recorder recorder = new Recorder();
+        run(properties.getDurationSeconds(), recorder);
+
+        List<EndpointResult> results = new ArrayList<>();
+        List<String> violations = new ArrayList<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            if (properties.getMix().getOrDefault(endpoint, 0) <= 0) {
+                continue;
+            }
+            EndpointResult result = recorder.result(endpoint, properties.getDurationSeconds(), queriesPerRequest.get(endpoint));
+            results.add(result);
+            violations.addAll(result.violations(properties.getBudgets().get(endpoint), properties.getMaxErrorRate()));
+            log.info("{}", result);
+        }
+        writeReport(results, violations);
+
+        assertThat(violations).as("load test budget violations").isEmpty();
+    }
+
+    // 대량 insert는 generate_series로 DB 안에서 만든다. 모든 user의 password는 같다
+    private void seed() {
+        LoadTestProperties.Seed seed = properties.getSeed();
+        long start = System.currentTimeMillis();
+        String password = new BCryptPasswordEncoder().encode(PASSWORD);
+
+        jdbcTemplate.update("INSERT INTO \"user\" (id, username, password, role, follower_count, post_count, registered_at) " +
+                "SELECT nextval('user_id_seq'), ? || g, ?, 'USER', 0, 0, now() FROM generate_series(1, ?) g",
+                USERNAME_PREFIX, password, seed.getUsers());
+        jdbcTemplate.update("INSERT INTO \"post\" (id, title, body, user_id, like_count, comment_count, registered_at) " +
+                "SELECT nextval('post_id_seq'), 'title ' || g, 'body of load test post ' || g, u.ids[1 + g % cardinality(u.ids)], 0, 0, now() " +
+                "FROM generate_series(1, ?) g, (SELECT array_agg(id) AS ids FROM \"user\") u",
+                seed.getPosts());
+        jdbcTemplate.update("INSERT INTO \"like\" (id, user_id, post_id, registered_at) " +
+                "SELECT nextval('like_id_seq'), u.ids[1 + floor(random() * cardinality(u.ids))::int], p.ids[1 + floor(random() * cardinality(p.ids))::int], now() " +
+                "FROM generate_series(1, ?) g, (SELECT array_agg(id) AS ids FROM \"user\") u, (SELECT array_agg(id) AS ids FROM \"post\") p " +
+                "ON CONFLICT DO NOTHING",
+                seed.getLikes());
+        jdbcTemplate.update("UPDATE \"post\" p SET like_count = (SELECT count(*) FROM \"like\" l WHERE l.post_id = p.id)");
+        jdbcTemplate.update("UPDATE \"user\" u SET post_count = (SELECT count(*) FROM \"post\" p WHERE p.user_id = u.id)");
+        // approximate count(pg_class.reltuples)가 채워지도록 통계를 갱신한다
+        jdbcTemplate.execute("ANALYZE");
+        log.info("Seeded users={} posts={} likes={} in {}ms",
+                seed.getUsers(), seed.getPosts(), seed.getLikes(), System.currentTimeMillis() - start);
+    }
+
+    private Map<Endpoint, Double> calibrate() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Client client = new Client(login(randomUsername()));
+        Map<Endpoint, Double> queriesPerRequest = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            Thread.sleep(ASYNC_SETTLE_MS);
+            statistics.clear();
+            for (int i = 0; i < properties.getCalibrationRequests(); i++) {
+                client.call(endpoint);
+            }
+            Thread.sleep(ASYNC_SETTLE_MS);
+            queriesPerRequest.put(endpoint, (double) statistics.getPrepareStatementCount() / properties.getCalibrationRequests());
+        }
+        log.info("Queries per request {}", queriesPerRequest);
+        return queriesPerRequest;
+    }
+
+    private void run(int seconds, Recorder recorder) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getConcurrency());
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < properties.getConcurrency(); i++) {
+                workers.add(executor.submit(() -> {
+                    Client client = new Client(login(randomUsername()));
+                    while (System.nanoTime() < deadline) {
+                        Endpoint endpoint = pick();
+                        long start = System.nanoTime();
+                        boolean success;
+                        try {
+                            success = client.call(endpoint);
+                        } catch (IOException e) {
+                            success = false;
+                        }
+                        recorder.record(endpoint, System.nanoTime() - start, success);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Endpoint pick() {
+        int total = properties.getMix().values().stream().mapToInt(Integer::intValue).sum();
+        int value = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<Endpoint, Integer> weight : properties.getMix().entrySet()) {
+            value -= weight.getValue();
+            if (value < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("loadtest.mix is empty");
+    }
+
+    private String randomUsername() {
+        return USERNAME_PREFIX + (1 + ThreadLocalRandom.current().nextInt(properties.getSeed().getUsers()));
+    }
+
+    private String login(String username) throws IOException, InterruptedException {
+        HttpResponse<String> response = requestLogin(username);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("login failed " + response.statusCode() + " " + response.body());
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.path("result").path("token").asText();
+    }
+
+    private HttpResponse<String> requestLogin(String username) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(uri("/api/v1/users/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json(Map.of("name", username, "password", PASSWORD))))
+                .build());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private String json(Object value) throws IOException {
+        return objectMapper.writeValueAsString(value);
+    }
+
+    private void writeReport(List<EndpointResult> results, List<String> violations) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("concurrency", properties.getConcurrency());
+        report.put("durationSeconds", properties.getDurationSeconds());
+        report.put("seed", properties.getSeed());
+        report.put("results", results);
+        report.put("budgets", properties.getBudgets());
+        report.put("violations", violations);
+
+        Path directory = Paths.get(properties.getReportDir());
+        Files.createDirectories(directory);
+        Path file = directory.resolve("report.json");
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        log.info("Load test report written to {}", file.toAbsolutePath());
+    }
+
+    /**
+     * worker 하나가 로그인한 user로 요청을 보낸다.
+     */
+    private class Client {
+        private final String token;
+
+        Client(String token) {
+            this.token = token;
+        }
+
+        // 2xx면 성공이다. 이미 좋아요 한 post에 대한 409는 정상 응답으로 본다
+        boolean call(Endpoint endpoint) throws IOException, InterruptedException {
+            switch (endpoint) {
+                case FEED: {
+                    int page = ThreadLocalRandom.current().nextInt(FEED_PAGES);
+                    return isSuccess(send(authorized("/api/v1/posts?page=" + page + "&size=" + FEED_PAGE_SIZE).GET().build()));
+                }
+                case LIKE: {
+                    int postId = randomPostId();
+                    HttpResponse<String> response = send(authorized("/api/v1/posts/" + postId + "/likes")
+                            .POST(HttpRequest.BodyPublishers.noBody()).build());
+                    return isSuccess(response) || response.statusCode() == 409;
+                }
+                case CREATE: {
+                    String body = json(Map.of("title", "load test", "body", "created during load test"));
+                    return isSuccess(send(authorized("/api/v1/posts")
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body)).build()));
+                }
+                case LOGIN:
+                    return isSuccess(requestLogin(randomUsername()));
+                default:
+                    throw new IllegalArgumentException(endpoint.name());
+            }
+        }
+
+        private HttpRequest.Builder authorized(String path) {
+            return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + token);
+        }
+
+        private boolean isSuccess(HttpResponse<String> response) {
+            return response.statusCode() / 100 == 2;
+        }
+    }
+
+    private int randomPostId() {
+        return postIds.get(ThreadLocalRandom.current().nextInt(postIds.size()));
+    }
+
+    /**
+     * endpoint 별 지연 시간(ns)과 실패 수를 모은다.
+     */
+    private static class Recorder {
+        private final Map<Endpoint, ConcurrentLinkedQueue<Long>> latencies = new EnumMap<>(Endpoint.class);
+        private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+
+        Recorder() {
+            for (Endpoint endpoint : Endpoint.values()) {
+                latencies.put(endpoint, new ConcurrentLinkedQueue<>());
+                errors.put(endpoint, new LongAdder());
+            }
+        }
+
+        void record(Endpoint endpoint, long nanos, boolean success) {
+            latencies.get(endpoint).add(nanos);
+            if (!success) {
+                errors.get(endpoint).increment();
+            }
+        }
+
+        EndpointResult result(Endpoint endpoint, int seconds, Double queriesPerRequest) {
+            long[] values = latencies.get(endpoint).stream().mapToLong(Long::longValue).toArray();
+            return EndpointResult.of(endpoint, values, errors.get(endpoint).sum(), seconds, queriesPerRequest == null ? 0 : queriesPerRequest);
+        }
+    }
+}
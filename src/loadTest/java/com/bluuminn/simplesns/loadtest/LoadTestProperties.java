@@ -0,0 +1,172 @@
+package com.bluuminn.simplesns.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * application-loadtest.yml의 loadtest.* 설정. -Dloadtest.* system property로 덮어쓸 수 있다.
+ */
+public class LoadTestProperties {
+    private Seed seed = new Seed();
+    private int concurrency;
+    private int warmupSeconds;
+    private int durationSeconds;
+    private int calibrationRequests;
+    private Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+    private double maxErrorRate;
+    private Map<Endpoint, Budget> budgets = new EnumMap<>(Endpoint.class);
+    private String reportDir;
+
+    public Seed getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Seed seed) {
+        this.seed = seed;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public void setWarmupSeconds(int warmupSeconds) {
+        this.warmupSeconds = warmupSeconds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(int durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    public int getCalibrationRequests() {
+        return calibrationRequests;
+    }
+
+    public void setCalibrationRequests(int calibrationRequests) {
+        this.calibrationRequests = calibrationRequests;
+    }
+
+    public Map<Endpoint, Integer> getMix() {
+        return mix;
+    }
+
+    public void setMix(Map<Endpoint, Integer> mix) {
+        this.mix = mix;
+    }
+
+    public double getMaxErrorRate() {
+        return maxErrorRate;
+    }
+
+    public void setMaxErrorRate(double maxErrorRate) {
+        this.maxErrorRate = maxErrorRate;
+    }
+
+    public Map<Endpoint, Budget> getBudgets() {
+        return budgets;
+    }
+
+    public void setBudgets(Map<Endpoint, Budget> budgets) {
+        this.budgets = budgets;
+    }
+
+    public String getReportDir() {
+        return reportDir;
+    }
+
+    public void setReportDir(String reportDir) {
+        this.reportDir = reportDir;
+    }
+
+    public static class Seed {
+        private int users;
+        private int posts;
+        private int likes;
+
+        public int getUsers() {
+            return users;
+        }
+
+        public void setUsers(int users) {
+            this.users = users;
+        }
+
+        public int getPosts() {
+            return posts;
+        }
+
+        public void setPosts(int posts) {
+            this.posts = posts;
+        }
+
+        public int getLikes() {
+            return likes;
+        }
+
+        public void setLikes(int likes) {
+            this.likes = likes;
+        }
+    }
+
+    /**
+     * 지정하지 않은 항목(0)은 검사하지 않는다.
+     */
+    public static class Budget {
+        private long p50Ms;
+        private long p95Ms;
+        private long p99Ms;
+        private double minThroughput;
+        private double maxQueries;
+
+        public long getP50Ms() {
+            return p50Ms;
+        }
+
+        public void setP50Ms(long p50Ms) {
+            this.p50Ms = p50Ms;
+        }
+
+        public long getP95Ms() {
+            return p95Ms;
+        }
+
+        public void setP95Ms(long p95Ms) {
+            this.p95Ms = p95Ms;
+        }
+
+        public long getP99Ms() {
+            return p99Ms;
+        }
+
+        public void setP99Ms(long p99Ms) {
+            this.p99Ms = p99Ms;
+        }
+
+        public double getMinThroughput() {
+            return minThroughput;
+        }
+
+        public void setMinThroughput(double minThroughput) {
+            this.minThroughput = minThroughput;
+        }
+
+        public double getMaxQueries() {
+            return maxQueries;
+        }
+
+        public void setMaxQueries(double maxQueries) {
+            this.maxQueries = maxQueries;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.bluuminn.simplesns.configuration;
+
+import com.bluuminn.simplesns.configuration.filter.AdmissionControlFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * admission.enabled=true 이면 API 요청을 AdmissionControlFilter로 제한한다.
+ * admission.executor=virtual 이면 tomcat 요청 스레드를 virtual thread로 바꾼다. JDK 21 이상에서만 동작하고, 그 외에는 기존 thread pool(server.tomcat.threads.max)을 유지한다.
+ * virtual thread에서는 요청 수만큼 스레드가 생기므로 admission control을 같이 켜야 DB connection 대기가 쌓이지 않는다.
+ */
+@Slf4j
+@Configuration
+public class AdmissionControlConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "admission.enabled", havingValue = "true")
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(@Value("${admission.max-concurrent}") int maxConcurrent,
+                                                                                @Value("${admission.queue-capacity}") int queueCapacity,
+                                                                                @Value("${admission.queue-timeout-ms}") long queueTimeoutMs,
+                                                                                @Value("${admission.retry-after-seconds}") long retryAfterSeconds,
+                                                                                MeterRegistry meterRegistry) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(maxConcurrent, queueCapacity, queueTimeoutMs, retryAfterSeconds, meterRegistry));
+        // SQL 측정 filter 다음, security filter(JwtTokenFilter의 user 조회) 보다 먼저 실행한다
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "admission.executor", havingValue = "virtual")
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadExecutorCustomizer() {
+        ExecutorService executor = newVirtualThreadExecutor();
+        return protocolHandler -> {
+            if (executor != null) {
+                protocolHandler.setExecutor(executor);
+            }
+        };
+    }
+
+    // JDK 11로 빌드하므로 Executors.newVirtualThreadPerTaskExecutor()는 reflection으로 찾는다
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.warn("Virtual threads are not available on Java {}. Use platform thread pool", Runtime.version().feature());
+            return null;
+        }
+    }
+}
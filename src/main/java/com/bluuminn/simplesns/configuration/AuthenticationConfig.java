@@ -2,9 +2,11 @@ package com.bluuminn.simplesns.configuration;
 
 import com.bluuminn.simplesns.configuration.filter.JwtTokenFilter;
 import com.bluuminn.simplesns.exception.CustomAuthenticationEntryPoint;
+import com.bluuminn.simplesns.model.UserRole;
 import com.bluuminn.simplesns.service.UserService;
+import com.bluuminn.simplesns.util.JwtTokenVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.builders.WebSecurity;
@@ -18,9 +20,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @Configuration
 public class AuthenticationConfig extends WebSecurityConfigurerAdapter {
     private final UserService userService;
-
-    @Value("${jwt.secret-key}")
-    private String key;
+    private final JwtTokenVerifier jwtTokenVerifier;
+    private final MeterRegistry meterRegistry;
 
     @Override
     public void configure(WebSecurity web) throws Exception {
@@ -32,12 +33,15 @@ public class AuthenticationConfig extends WebSecurityConfigurerAdapter {
         http.csrf().disable()
                 .authorizeRequests()
                 .antMatchers("/api/*/users/join", "/api/*/users/login").permitAll()
+                .antMatchers("/api/*/admin/**").hasAuthority(UserRole.ADMIN.name())
                 .antMatchers("/api/**").authenticated()
+                .antMatchers("/actuator/health").permitAll()
+                .antMatchers("/actuator/**").hasAuthority(UserRole.ADMIN.name())
                 .and()
                 .sessionManagement()
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 .and()
-                .addFilterBefore(new JwtTokenFilter(userService, key), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtTokenFilter(userService, jwtTokenVerifier, meterRegistry), UsernamePasswordAuthenticationFilter.class)
                 .exceptionHandling()
                 .authenticationEntryPoint(new CustomAuthenticationEntryPoint());
     }
@@ -0,0 +1,221 @@
+package com.bluuminn.simplesns.configuration;
+
+import com.bluuminn.simplesns.model.QueryFinding;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 요청 하나가 실행한 hibernate SQL을 모아서 N+1(같은 형태의 SQL이 repeat-threshold 번 넘게 실행)과
+ * 느린 SQL(slow-threshold-ms 초과)을 찾는다. diagnostics.query.enabled=true 일 때만 QueryDiagnosticsConfig가 요청을 추적한다.
+ *
+ * <p>SQL은 SqlStatementCounter(StatementInspector)가, 실행 시간은 QueryTimingListener(SessionEventListener)가 알려준다.
+ * 둘 다 hibernate가 직접 만드는 객체라서 현재 요청의 추적 상태는 static ThreadLocal로 주고받는다.
+ * 발견한 항목은 로그로 남기고, 최근 window-ms 동안의 항목을 GET /api/v1/admin/diagnostics/queries로 조회할 수 있다.
+ */
+@Slf4j
+@Component
+public class QueryDiagnostics {
+    private static final ThreadLocal<RequestTrace> TRACE = new ThreadLocal<>();
+    private static final String APP_PACKAGE = "com.bluuminn.simplesns.";
+    private static final String CONFIGURATION_PACKAGE = "com.bluuminn.simplesns.configuration.";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final boolean enabled;
+    private final int repeatThreshold;
+    private final long slowThresholdNanos;
+    private final Cache<String, Aggregate> findings;
+
+    public QueryDiagnostics(@Value("${diagnostics.query.enabled}") boolean enabled,
+                            @Value("${diagnostics.query.repeat-threshold}") int repeatThreshold,
+                            @Value("${diagnostics.query.slow-threshold-ms}") long slowThresholdMs,
+                            @Value("${diagnostics.query.window-ms}") long windowMs,
+                            @Value("${diagnostics.query.maximum-size}") long maximumSize) {
+        this.enabled = enabled;
+        this.repeatThreshold = repeatThreshold;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.findings = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(windowMs))
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    static void onPrepare(String sql) {
+        RequestTrace trace = TRACE.get();
+        if (trace != null) {
+            trace.prepared(sql);
+        }
+    }
+
+    static void onExecuteStart() {
+        RequestTrace trace = TRACE.get();
+        if (trace != null) {
+            trace.startedAt = System.nanoTime();
+        }
+    }
+
+    static void onExecuteEnd() {
+        RequestTrace trace = TRACE.get();
+        if (trace != null && trace.startedAt != 0) {
+            trace.executed(System.nanoTime() - trace.startedAt);
+            trace.startedAt = 0;
+        }
+    }
+
+    public void begin() {
+        if (enabled) {
+            TRACE.set(new RequestTrace());
+        }
+    }
+
+    public void end(String endpoint) {
+        RequestTrace trace = TRACE.get();
+        TRACE.remove();
+        if (trace == null) {
+            return;
+        }
+        trace.shapes.forEach((sql, shape) -> {
+            if (shape.count > repeatThreshold) {
+                log.warn("N+1 suspected. {} ran {} times: {} at {}", endpoint, shape.count, sql, shape.callSite);
+                record(QueryFinding.Type.N_PLUS_ONE, endpoint, sql, shape.callSite, shape.count);
+            }
+        });
+        for (SlowStatement slow : trace.slowStatements) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(slow.nanos);
+            log.warn("Slow query. {} took {}ms: {} at {}", endpoint, millis, slow.sql, slow.callSite);
+            record(QueryFinding.Type.SLOW, endpoint, slow.sql, slow.callSite, millis);
+        }
+    }
+
+    /**
+     * 발견된 요청 수가 많은 순으로 최대 limit 개.
+     */
+    public List<QueryFinding> report(int limit) {
+        return findings.asMap().values().stream()
+                .map(Aggregate::toFinding)
+                .sorted(Comparator.comparingLong(QueryFinding::getOccurrences).reversed()
+                        .thenComparing(Comparator.comparingLong(QueryFinding::getWorst).reversed()))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    public void clear() {
+        findings.invalidateAll();
+    }
+
+    private void record(QueryFinding.Type type, String endpoint, String sql, String callSite, long value) {
+        findings.asMap().compute(type + " " + endpoint + " " + sql, (key, aggregate) -> {
+            Aggregate updated = aggregate == null ? new Aggregate(type, endpoint, sql) : aggregate;
+            updated.add(callSite, value);
+            return updated;
+        });
+    }
+
+    static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+
+    // SQL을 실행하게 만든 애플리케이션 코드 위치. proxy와 이 패키지(filter, 진단 코드)는 건너뛴다
+    private static String callSite() {
+        for (StackTraceElement element : new Throwable().getStackTrace()) {
+            String className = element.getClassName();
+            if (className.startsWith(APP_PACKAGE) && !className.startsWith(CONFIGURATION_PACKAGE) && !className.contains("$$")) {
+                return element.toString();
+            }
+        }
+        return "unknown";
+    }
+
+    private class RequestTrace {
+        private final Map<String, Shape> shapes = new HashMap<>();
+        private final List<SlowStatement> slowStatements = new ArrayList<>();
+        private String currentSql;
+        private long startedAt;
+
+        void prepared(String sql) {
+            currentSql = normalize(sql);
+            Shape shape = shapes.computeIfAbsent(currentSql, key -> new Shape());
+            shape.count++;
+            // stack trace는 threshold를 처음 넘을 때 한 번만 만든다
+            if (shape.count == repeatThreshold + 1) {
+                shape.callSite = callSite();
+            }
+        }
+
+        void executed(long nanos) {
+            if (nanos > slowThresholdNanos && currentSql != null) {
+                slowStatements.add(new SlowStatement(currentSql, nanos, callSite()));
+            }
+        }
+    }
+
+    private static class Shape {
+        private int count;
+        private String callSite;
+    }
+
+    private static class SlowStatement {
+        private final String sql;
+        private final long nanos;
+        private final String callSite;
+
+        SlowStatement(String sql, long nanos, String callSite) {
+            this.sql = sql;
+            this.nanos = nanos;
+            this.callSite = callSite;
+        }
+    }
+
+    // compute 안에서만 수정된다
+    private static class Aggregate {
+        private final QueryFinding.Type type;
+        private final String endpoint;
+        private final String sql;
+        private String callSite;
+        private long occurrences;
+        private long worst;
+        private long lastSeenAt;
+
+        Aggregate(QueryFinding.Type type, String endpoint, String sql) {
+            this.type = type;
+            this.endpoint = endpoint;
+            this.sql = sql;
+        }
+
+        synchronized void add(String callSite, long value) {
+            this.callSite = callSite;
+            this.occurrences++;
+            this.worst = Math.max(worst, value);
+            this.lastSeenAt = System.currentTimeMillis();
+        }
+
+        synchronized QueryFinding toFinding() {
+            return new QueryFinding(type, endpoint, sql, callSite, occurrences, worst, new Timestamp(lastSeenAt));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.bluuminn.simplesns.configuration;
+
+import com.bluuminn.simplesns.configuration.filter.QueryDiagnosticsFilter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * diagnostics.query.enabled=true 일 때만 SQL 실행 시간 측정과 요청 추적을 켠다. 꺼져 있으면 요청 당 추가 비용이 없다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "diagnostics.query.enabled", havingValue = "true")
+public class QueryDiagnosticsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryTimingListenerCustomizer() {
+        return properties -> properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryTimingListener.class.getName());
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryDiagnosticsFilter> queryDiagnosticsFilter(QueryDiagnostics queryDiagnostics) {
+        FilterRegistrationBean<QueryDiagnosticsFilter> registration = new FilterRegistrationBean<>(new QueryDiagnosticsFilter(queryDiagnostics));
+        // security filter의 user 조회까지 포함한다
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,20 @@
+package com.bluuminn.simplesns.configuration;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * hibernate session 마다 생성되어 JDBC 실행 시간을 QueryDiagnostics에 알려준다.
+ * hibernate.session.events.auto 설정으로 등록되므로 public 기본 생성자가 필요하다.
+ */
+public class QueryTimingListener extends BaseSessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        QueryDiagnostics.onExecuteStart();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        QueryDiagnostics.onExecuteEnd();
+    }
+}
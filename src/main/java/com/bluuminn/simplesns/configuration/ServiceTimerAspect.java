@@ -0,0 +1,39 @@
+package com.bluuminn.simplesns.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * PostService/UserService의 public method 실행 시간을 "service.method{class, method, exception}" timer로 기록한다.
+ * proxy를 거치는 호출만 측정되므로 같은 service 안에서의 내부 호출은 바깥 method 시간에 포함된다.
+ */
+@Aspect
+@RequiredArgsConstructor
+@Component
+public class ServiceTimerAspect {
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.bluuminn.simplesns.service.PostService.*(..)) || " +
+            "execution(public * com.bluuminn.simplesns.service.UserService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("service.method")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
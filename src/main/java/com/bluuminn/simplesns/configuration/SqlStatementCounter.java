@@ -0,0 +1,32 @@
+package com.bluuminn.simplesns.configuration;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * hibernate가 실행하는 SQL을 현재 스레드 기준으로 센다. SQL 문자열은 바꾸지 않는다.
+ * SqlStatementCountFilter가 요청 시작 시 start(), 끝날 때 stop()을 호출한다. 요청 밖(비동기 worker 등)의 SQL은 세지 않는다.
+ * 진단 모드(diagnostics.query.enabled)에서는 SQL을 QueryDiagnostics에도 넘긴다.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        QueryDiagnostics.onPrepare(sql);
+        return sql;
+    }
+
+    public void start() {
+        COUNT.set(new int[1]);
+    }
+
+    public int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+}
@@ -0,0 +1,102 @@
+package com.bluuminn.simplesns.configuration.filter;
+
+import com.bluuminn.simplesns.controller.response.Response;
+import com.bluuminn.simplesns.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 동시에 처리하는 API 요청 수를 DB connection pool 크기(max-concurrent)로 제한한다.
+ * 나머지 요청은 queue-capacity 개까지 queue-timeout-ms 동안 기다리고, 그 이상이면 connection을 기다리며 스레드를 붙잡지 않도록 바로 503 + Retry-After를 반환한다.
+ */
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    private static final String API_PREFIX = "/api/";
+
+    private final Semaphore permits;
+    private final int queueCapacity;
+    private final long queueTimeoutMs;
+    private final String retryAfterSeconds;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final Timer queueWait;
+    private final Counter queueFull;
+    private final Counter queueTimeout;
+
+    public AdmissionControlFilter(int maxConcurrent, int queueCapacity, long queueTimeoutMs, long retryAfterSeconds, MeterRegistry meterRegistry) {
+        // 먼저 기다린 요청이 먼저 들어가도록 fair semaphore를 사용한다
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.queueCapacity = queueCapacity;
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+
+        this.queueWait = Timer.builder("admission.queue.wait").register(meterRegistry);
+        this.queueFull = Counter.builder("admission.rejected").tag("reason", "queue_full").register(meterRegistry);
+        this.queueTimeout = Counter.builder("admission.rejected").tag("reason", "timeout").register(meterRegistry);
+        meterRegistry.gauge("admission.queue.size", Tags.empty(), waiting);
+        meterRegistry.gauge("admission.in.flight", Tags.empty(), permits, semaphore -> maxConcurrent - semaphore.availablePermits());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (!acquire()) {
+            log.warn("Reject request {} {}. {} requests are waiting", request.getMethod(), request.getRequestURI(), waiting.get());
+            response.setStatus(ErrorCode.SERVER_BUSY.getStatus().value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(Response.error(ErrorCode.SERVER_BUSY.name()).toStream());
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean acquire() {
+        long start = System.nanoTime();
+        if (permits.tryAcquire()) {
+            queueWait.record(0, TimeUnit.NANOSECONDS);
+            return true;
+        }
+        if (waiting.incrementAndGet() > queueCapacity) {
+            waiting.decrementAndGet();
+            queueFull.increment();
+            return false;
+        }
+        try {
+            if (permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                queueWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waiting.decrementAndGet();
+        }
+        queueTimeout.increment();
+        return false;
+    }
+
+    // actuator 등 API가 아닌 요청은 제한하지 않는다
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(API_PREFIX);
+    }
+}
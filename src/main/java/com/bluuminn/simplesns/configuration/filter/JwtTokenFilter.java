@@ -2,8 +2,10 @@ package com.bluuminn.simplesns.configuration.filter;
 
 import com.bluuminn.simplesns.model.User;
 import com.bluuminn.simplesns.service.UserService;
-import com.bluuminn.simplesns.util.JwtTokenUtils;
-import lombok.RequiredArgsConstructor;
+import com.bluuminn.simplesns.util.JwtTokenVerifier;
+import com.bluuminn.simplesns.util.VerifiedToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -18,30 +20,42 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
 @Slf4j
-@RequiredArgsConstructor
 public class JwtTokenFilter extends OncePerRequestFilter {
+    // EventSource는 header를 지정할 수 없으므로 SSE 구독 요청은 query parameter로 token을 받는다
+    private static final String SUBSCRIBE_URI = "/api/v1/users/alarm/subscribe";
+    private static final String TOKEN_PARAM = "token";
+
     private final UserService userService;
-    private final String key;
+    private final JwtTokenVerifier jwtTokenVerifier;
+    // 토큰 검증과 user 조회 시간을 나눠서 기록한다
+    private final Timer verifyTimer;
+    private final Timer userLookupTimer;
+
+    public JwtTokenFilter(UserService userService, JwtTokenVerifier jwtTokenVerifier, MeterRegistry meterRegistry) {
+        this.userService = userService;
+        this.jwtTokenVerifier = jwtTokenVerifier;
+        this.verifyTimer = Timer.builder("auth.jwt.verify").register(meterRegistry);
+        this.userLookupTimer = Timer.builder("auth.user.lookup").register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        final String header = request.getHeader(HttpHeaders.AUTHORIZATION);
-        if (header == null || !header.startsWith("Bearer ")) {
-            log.error("Error occurs while getting header. header is null or invalid {}", request.getRequestURL());
-            filterChain.doFilter(request, response);
-            return;
-        }
-        try {
-            final String token = header.split(" ")[1].strip();
-            if (JwtTokenUtils.isExpired(token, key)) {
-                log.error("Key is expired");
+        final String token;
+        if (SUBSCRIBE_URI.equals(request.getRequestURI()) && request.getParameter(TOKEN_PARAM) != null) {
+            token = request.getParameter(TOKEN_PARAM);
+        } else {
+            final String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+            if (header == null || !header.startsWith("Bearer ")) {
+                log.error("Error occurs while getting header. header is null or invalid {}", request.getRequestURL());
                 filterChain.doFilter(request, response);
                 return;
             }
+            token = header.split(" ")[1].strip();
+        }
+        try {
+            VerifiedToken verifiedToken = verifyTimer.record(() -> jwtTokenVerifier.verify(token));
 
-            String username = JwtTokenUtils.getUsername(token, key);
-
-            User user = userService.loadUserByUsername(username);
+            User user = userLookupTimer.record(() -> userService.loadUserByUsername(verifiedToken.getUsername()));
 
             UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                     user, null, user.getAuthorities());
@@ -0,0 +1,36 @@
+package com.bluuminn.simplesns.configuration.filter;
+
+import com.bluuminn.simplesns.configuration.QueryDiagnostics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 요청 하나 동안 실행된 SQL을 QueryDiagnostics로 추적한다. endpoint는 "GET /api/v1/posts/{postId}" 처럼 path pattern으로 남긴다.
+ */
+@RequiredArgsConstructor
+public class QueryDiagnosticsFilter extends OncePerRequestFilter {
+    private final QueryDiagnostics queryDiagnostics;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        queryDiagnostics.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            queryDiagnostics.end(request.getMethod() + " " + (pattern == null ? request.getRequestURI() : pattern.toString()));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+}
@@ -0,0 +1,50 @@
+package com.bluuminn.simplesns.configuration.filter;
+
+import com.bluuminn.simplesns.configuration.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 요청 하나가 실행한 SQL 수를 "http.server.requests.sql{method, uri}" histogram으로 기록한다.
+ * security filter(JwtTokenFilter의 user 조회)까지 포함하도록 security filter chain 보다 먼저 실행된다.
+ */
+@RequiredArgsConstructor
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final SqlStatementCounter sqlStatementCounter;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        sqlStatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int count = sqlStatementCounter.stop();
+            // uri는 http.server.requests와 같은 path pattern(/api/v1/posts/{postId})을 사용해 tag 수를 제한한다
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("http.server.requests.sql")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern == null ? UNKNOWN_URI : pattern.toString())
+                    .register(meterRegistry)
+                    .record(count);
+        }
+    }
+
+    // SSE 구독처럼 비동기로 끝나는 요청은 첫 dispatch 까지만 센다
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+}
@@ -0,0 +1,40 @@
+package com.bluuminn.simplesns.controller;
+
+import com.bluuminn.simplesns.configuration.QueryDiagnostics;
+import com.bluuminn.simplesns.controller.request.PostBulkCreateRequest;
+import com.bluuminn.simplesns.controller.response.QueryFindingResponse;
+import com.bluuminn.simplesns.controller.response.Response;
+import com.bluuminn.simplesns.service.PostService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/admin")
+@RestController
+public class AdminController {
+    private static final int MAX_FINDINGS = 100;
+
+    private final PostService postService;
+    private final QueryDiagnostics queryDiagnostics;
+
+    @PostMapping("/posts/bulk")
+    public Response<Integer> bulkCreatePosts(@RequestBody PostBulkCreateRequest request, Authentication authentication) {
+        return Response.success(postService.bulkCreate(request.getPosts(), authentication.getName()));
+    }
+
+    @GetMapping("/diagnostics/queries")
+    public Response<List<QueryFindingResponse>> queryFindings(@RequestParam(defaultValue = "20") int limit) {
+        return Response.success(queryDiagnostics.report(Math.max(1, Math.min(limit, MAX_FINDINGS))).stream()
+                .map(QueryFindingResponse::fromFinding)
+                .collect(Collectors.toList()));
+    }
+}
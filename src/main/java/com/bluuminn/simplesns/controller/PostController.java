@@ -1,22 +1,44 @@
 package com.bluuminn.simplesns.controller;
 
+import com.bluuminn.simplesns.controller.request.PostCommentRequest;
 import com.bluuminn.simplesns.controller.request.PostCreateRequest;
 import com.bluuminn.simplesns.controller.request.PostModifyRequest;
+import com.bluuminn.simplesns.controller.response.CommentResponse;
+import com.bluuminn.simplesns.controller.response.CursorResponse;
+import com.bluuminn.simplesns.controller.response.PostBatchResponse;
+import com.bluuminn.simplesns.controller.response.PostPageResponse;
 import com.bluuminn.simplesns.controller.response.PostResponse;
+import com.bluuminn.simplesns.controller.response.PostSearchResponse;
 import com.bluuminn.simplesns.controller.response.Response;
+import com.bluuminn.simplesns.exception.ErrorCode;
+import com.bluuminn.simplesns.exception.SnsApplicationException;
+import com.bluuminn.simplesns.model.CountStrategy;
 import com.bluuminn.simplesns.model.Post;
+import com.bluuminn.simplesns.service.PostSearchService;
 import com.bluuminn.simplesns.service.PostService;
+import com.bluuminn.simplesns.service.TimelineService;
+import com.bluuminn.simplesns.service.TrendingService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/posts")
 @RestController
 public class PostController {
     private final PostService postService;
+    private final TimelineService timelineService;
+    private final PostSearchService postSearchService;
+    private final TrendingService trendingService;
+
+    @Value("${post.list.count-strategy}")
+    private CountStrategy countStrategy;
 
     @PostMapping
     public Response<Void> create(@RequestBody PostCreateRequest request, Authentication authentication) {
@@ -24,6 +46,11 @@ public class PostController {
         return Response.success();
     }
 
+    @GetMapping("/{postId}")
+    public Response<PostResponse> get(@PathVariable Integer postId, Authentication authentication) {
+        return Response.success(PostResponse.fromPost(postService.getPost(postId)));
+    }
+
     @PutMapping("/{postId}")
     public Response<PostResponse> modify(@PathVariable Integer postId, @RequestBody PostModifyRequest request, Authentication authentication) {
         Post post = postService.modify(request.getTitle(), request.getBody(), authentication.getName(), postId);
@@ -36,14 +63,69 @@ public class PostController {
         return Response.success();
     }
 
+    // withLikes=true 이면 각 포스트에 likeCount, likedByMe를 함께 내려준다
+    // 전체 개수는 post.list.count-strategy 방식으로 구하고, 사용한 방식을 countStrategy로 내려준다
     @GetMapping
-    public Response<Page<PostResponse>> list(Pageable pageable, Authentication authentication) {
-        return Response.success(postService.list(pageable).map(PostResponse::fromPost));
+    public Response<PostPageResponse> list(Pageable pageable,
+                                           @RequestParam(defaultValue = "false") boolean withLikes,
+                                           Authentication authentication) {
+        return Response.success(PostPageResponse.fromPage(postService.list(pageable, authentication.getName(), withLikes, countStrategy)));
     }
 
     @GetMapping("/my")
-    public Response<Page<PostResponse>> my(Pageable pageable, Authentication authentication) {
-        return Response.success(postService.my(authentication.getName(), pageable).map(PostResponse::fromPost));
+    public Response<PostPageResponse> my(Pageable pageable,
+                                         @RequestParam(defaultValue = "false") boolean withLikes,
+                                         Authentication authentication) {
+        return Response.success(PostPageResponse.fromPage(postService.my(authentication.getName(), pageable, withLikes, countStrategy)));
+    }
+
+    // ?after=<id>&size=N 커서 페이징. 첫 페이지는 after 값을 비워서 요청한다
+    @GetMapping(params = {"after", "!ids"})
+    public Response<CursorResponse<PostResponse>> scroll(@RequestParam(required = false) Integer after,
+                                                         @RequestParam(defaultValue = "20") int size,
+                                                         Authentication authentication) {
+        return Response.success(CursorResponse.of(postService.scroll(after, size).map(PostResponse::fromPost), PostResponse::getId));
+    }
+
+    // ?ids=1,2,3 여러 포스트를 한 번에 조회한다. 요청 순서를 유지하고 없는 id는 missingIds로 알려준다
+    // ids와 after를 같이 보내면 scroll과 구분할 수 없으므로 400을 반환한다
+    @GetMapping(params = "ids")
+    public Response<PostBatchResponse> batch(@RequestParam List<Integer> ids,
+                                             @RequestParam(required = false) String after,
+                                             Authentication authentication) {
+        if (after != null) {
+            throw new SnsApplicationException(ErrorCode.INVALID_REQUEST, "ids and after cannot be used together");
+        }
+        return Response.success(PostBatchResponse.of(ids, postService.getPosts(ids)));
+    }
+
+    @GetMapping(value = "/my", params = "after")
+    public Response<CursorResponse<PostResponse>> myScroll(@RequestParam(required = false) Integer after,
+                                                           @RequestParam(defaultValue = "20") int size,
+                                                           Authentication authentication) {
+        return Response.success(CursorResponse.of(postService.myScroll(authentication.getName(), after, size).map(PostResponse::fromPost), PostResponse::getId));
+    }
+
+    // follow 하는 user와 본인의 글. ?after=<id>&size=N 커서 페이징
+    @GetMapping("/timeline")
+    public Response<CursorResponse<PostResponse>> timeline(@RequestParam(required = false) Integer after,
+                                                           @RequestParam(defaultValue = "20") int size,
+                                                           Authentication authentication) {
+        return Response.success(CursorResponse.of(timelineService.timeline(authentication.getName(), after, size).map(PostResponse::fromPost), PostResponse::getId));
+    }
+
+    // ?q=검색어&cursor=<이전 응답의 nextCursor>&size=N 관련도 순 커서 페이징
+    @GetMapping("/search")
+    public Response<PostSearchResponse> search(@RequestParam String q,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "20") int size,
+                                               Authentication authentication) {
+        return Response.success(PostSearchResponse.fromResult(postSearchService.search(q, cursor, size)));
+    }
+
+    @GetMapping("/trending")
+    public Response<List<PostResponse>> trending(@RequestParam(defaultValue = "20") int size, Authentication authentication) {
+        return Response.success(trendingService.trending(size).stream().map(PostResponse::fromPost).collect(Collectors.toList()));
     }
 
     @PostMapping("/{postId}/likes")
@@ -56,4 +138,28 @@ public class PostController {
     public Response<Integer> likeCount(@PathVariable Integer postId, Authentication authentication) {
         return Response.success(postService.likeCount(postId));
     }
+
+    @PostMapping("/{postId}/comments")
+    public Response<Void> comment(@PathVariable Integer postId, @RequestBody PostCommentRequest request, Authentication authentication) {
+        postService.comment(postId, authentication.getName(), request.getComment());
+        return Response.success();
+    }
+
+    @GetMapping("/{postId}/comments")
+    public Response<Page<CommentResponse>> comments(@PathVariable Integer postId, Pageable pageable, Authentication authentication) {
+        return Response.success(postService.getComments(postId, pageable).map(CommentResponse::fromComment));
+    }
+
+    @GetMapping(value = "/{postId}/comments", params = "after")
+    public Response<CursorResponse<CommentResponse>> scrollComments(@PathVariable Integer postId,
+                                                                    @RequestParam(required = false) Integer after,
+                                                                    @RequestParam(defaultValue = "20") int size,
+                                                                    Authentication authentication) {
+        return Response.success(CursorResponse.of(postService.scrollComments(postId, after, size).map(CommentResponse::fromComment), CommentResponse::getId));
+    }
+
+    @GetMapping("/{postId}/comments/count")
+    public Response<Integer> commentCount(@PathVariable Integer postId, Authentication authentication) {
+        return Response.success(postService.commentCount(postId));
+    }
 }
@@ -2,22 +2,28 @@ package com.bluuminn.simplesns.controller;
 
 import com.bluuminn.simplesns.controller.request.UserJoinRequest;
 import com.bluuminn.simplesns.controller.request.UserLoginRequest;
+import com.bluuminn.simplesns.controller.response.AlarmResponse;
+import com.bluuminn.simplesns.controller.response.CursorResponse;
 import com.bluuminn.simplesns.controller.response.Response;
 import com.bluuminn.simplesns.controller.response.UserJoinResponse;
 import com.bluuminn.simplesns.controller.response.UserLoginResponse;
 import com.bluuminn.simplesns.model.User;
+import com.bluuminn.simplesns.service.AlarmService;
 import com.bluuminn.simplesns.service.UserService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/users")
 @RestController
 public class UserController {
     private final UserService userService;
+    private final AlarmService alarmService;
 
     @PostMapping("/join")
     public Response<UserJoinResponse> join(@RequestBody UserJoinRequest request) {
@@ -30,4 +36,33 @@ public class UserController {
         String token = userService.login(request.getName(), request.getPassword());
         return Response.success(new UserLoginResponse(token));
     }
+
+    @PostMapping("/{userId}/follow")
+    public Response<Void> follow(@PathVariable Integer userId, Authentication authentication) {
+        userService.follow(authentication.getName(), userId);
+        return Response.success();
+    }
+
+    @DeleteMapping("/{userId}/follow")
+    public Response<Void> unfollow(@PathVariable Integer userId, Authentication authentication) {
+        userService.unfollow(authentication.getName(), userId);
+        return Response.success();
+    }
+
+    @GetMapping("/alarm")
+    public Response<Page<AlarmResponse>> alarm(Pageable pageable, Authentication authentication) {
+        return Response.success(alarmService.alarmList(authentication.getName(), pageable).map(AlarmResponse::fromAlarm));
+    }
+
+    @GetMapping(value = "/alarm", params = "after")
+    public Response<CursorResponse<AlarmResponse>> scrollAlarm(@RequestParam(required = false) Integer after,
+                                                               @RequestParam(defaultValue = "20") int size,
+                                                               Authentication authentication) {
+        return Response.success(CursorResponse.of(alarmService.scrollAlarms(authentication.getName(), after, size).map(AlarmResponse::fromAlarm), AlarmResponse::getId));
+    }
+
+    @GetMapping(value = "/alarm/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(Authentication authentication) {
+        return alarmService.connectAlarm(authentication.getName());
+    }
 }
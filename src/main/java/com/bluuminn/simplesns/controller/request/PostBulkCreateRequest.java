@@ -0,0 +1,12 @@
+package com.bluuminn.simplesns.controller.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+public class PostBulkCreateRequest {
+    private List<PostCreateRequest> posts;
+}
@@ -0,0 +1,12 @@
+package com.bluuminn.simplesns.controller.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class PostCommentRequest {
+    private String comment;
+}
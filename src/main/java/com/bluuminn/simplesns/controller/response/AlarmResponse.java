@@ -0,0 +1,36 @@
+package com.bluuminn.simplesns.controller.response;
+
+import com.bluuminn.simplesns.model.Alarm;
+import com.bluuminn.simplesns.model.AlarmArgs;
+import com.bluuminn.simplesns.model.AlarmType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+@Builder(access = AccessLevel.PRIVATE)
+@AllArgsConstructor
+@Getter
+public class AlarmResponse {
+    private Integer id;
+    private AlarmType alarmType;
+    private AlarmArgs args;
+    private String text;
+    private Timestamp registeredAt;
+    private Timestamp updatedAt;
+    private Timestamp deletedAt;
+
+    public static AlarmResponse fromAlarm(Alarm alarm) {
+        return AlarmResponse.builder()
+                .id(alarm.getId())
+                .alarmType(alarm.getAlarmType())
+                .args(alarm.getArgs())
+                .text(alarm.getAlarmType().getAlarmText())
+                .registeredAt(alarm.getRegisteredAt())
+                .updatedAt(alarm.getUpdatedAt())
+                .deletedAt(alarm.getDeletedAt())
+                .build();
+    }
+}
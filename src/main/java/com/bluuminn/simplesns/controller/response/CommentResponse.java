@@ -0,0 +1,34 @@
+package com.bluuminn.simplesns.controller.response;
+
+import com.bluuminn.simplesns.model.Comment;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+@Builder(access = AccessLevel.PRIVATE)
+@AllArgsConstructor
+@Getter
+public class CommentResponse {
+    private Integer id;
+    private String comment;
+    private String userName;
+    private Integer postId;
+    private Timestamp registeredAt;
+    private Timestamp updatedAt;
+    private Timestamp deletedAt;
+
+    public static CommentResponse fromComment(Comment comment) {
+        return CommentResponse.builder()
+                .id(comment.getId())
+                .comment(comment.getComment())
+                .userName(comment.getUserName())
+                .postId(comment.getPostId())
+                .registeredAt(comment.getRegisteredAt())
+                .updatedAt(comment.getUpdatedAt())
+                .deletedAt(comment.getDeletedAt())
+                .build();
+    }
+}
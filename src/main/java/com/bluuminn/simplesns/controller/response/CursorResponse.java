@@ -0,0 +1,24 @@
+package com.bluuminn.simplesns.controller.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+@AllArgsConstructor
+@Getter
+public class CursorResponse<T> {
+    private List<T> content;
+    private Integer nextCursor;
+    private boolean hasNext;
+
+    public static <T> CursorResponse<T> of(Slice<T> slice, Function<T, Integer> cursorExtractor) {
+        List<T> content = slice.getContent();
+        Integer nextCursor = slice.hasNext() && !content.isEmpty()
+                ? cursorExtractor.apply(content.get(content.size() - 1))
+                : null;
+        return new CursorResponse<>(content, nextCursor, slice.hasNext());
+    }
+}
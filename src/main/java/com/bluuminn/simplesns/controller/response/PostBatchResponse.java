@@ -0,0 +1,27 @@
+package com.bluuminn.simplesns.controller.response;
+
+import com.bluuminn.simplesns.model.Post;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@AllArgsConstructor
+@Getter
+public class PostBatchResponse {
+    // 요청한 id 순서
+    private List<PostResponse> posts;
+    // 존재하지 않거나 삭제된 post id
+    private List<Integer> missingIds;
+
+    public static PostBatchResponse of(List<Integer> requestedIds, List<Post> posts) {
+        Set<Integer> foundIds = posts.stream().map(Post::getId).collect(Collectors.toSet());
+        return new PostBatchResponse(
+                posts.stream().map(PostResponse::fromPost).collect(Collectors.toList()),
+                new LinkedHashSet<>(requestedIds).stream().filter(id -> !foundIds.contains(id)).collect(Collectors.toList())
+        );
+    }
+}
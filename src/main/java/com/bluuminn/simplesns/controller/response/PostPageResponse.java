@@ -0,0 +1,41 @@
+package com.bluuminn.simplesns.controller.response;
+
+import com.bluuminn.simplesns.model.CountStrategy;
+import com.bluuminn.simplesns.model.PostPage;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * totalElements/totalPages는 countStrategy가 NONE이면 null, APPROXIMATE이면 추정값이다.
+ */
+@AllArgsConstructor
+@Getter
+public class PostPageResponse {
+    private List<PostResponse> content;
+    private int number;
+    private int size;
+    private boolean hasNext;
+    private Long totalElements;
+    private Integer totalPages;
+    private CountStrategy countStrategy;
+
+    public static PostPageResponse fromPage(PostPage page) {
+        Slice<PostResponse> posts = page.getPosts().map(PostResponse::fromPost);
+        Long totalElements = page.getTotalElements();
+        Integer totalPages = totalElements == null ? null
+                : posts.getSize() == 0 ? 1 : (int) Math.ceil((double) totalElements / posts.getSize());
+        return new PostPageResponse(
+                posts.getContent(),
+                posts.getNumber(),
+                posts.getSize(),
+                posts.hasNext(),
+                totalElements,
+                totalPages,
+                page.getCountStrategy()
+        );
+    }
+}
@@ -1,6 +1,7 @@
 package com.bluuminn.simplesns.controller.response;
 
 import com.bluuminn.simplesns.model.Post;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,6 +20,10 @@ public class PostResponse {
     private Timestamp registerdAt;
     private Timestamp updatedAt;
     private Timestamp deletedAt;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer likeCount;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean likedByMe;
 
     public static PostResponse fromPost(Post post) {
         return PostResponse.builder()
@@ -29,6 +34,8 @@ public class PostResponse {
                 .registerdAt(post.getRegisterdAt())
                 .updatedAt(post.getUpdatedAt())
                 .deletedAt(post.getDeletedAt())
+                .likeCount(post.getLikeCount())
+                .likedByMe(post.getLikedByMe())
                 .build();
     }
 }
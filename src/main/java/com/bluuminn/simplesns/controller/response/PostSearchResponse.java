@@ -0,0 +1,24 @@
+package com.bluuminn.simplesns.controller.response;
+
+import com.bluuminn.simplesns.model.PostSearchResult;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@AllArgsConstructor
+@Getter
+public class PostSearchResponse {
+    private List<PostResponse> content;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public static PostSearchResponse fromResult(PostSearchResult result) {
+        return new PostSearchResponse(
+                result.getPosts().stream().map(PostResponse::fromPost).collect(Collectors.toList()),
+                result.getNextCursor() == null ? null : result.getNextCursor().toString(),
+                result.isHasNext()
+        );
+    }
+}
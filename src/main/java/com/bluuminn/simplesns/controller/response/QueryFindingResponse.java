@@ -0,0 +1,31 @@
+package com.bluuminn.simplesns.controller.response;
+
+import com.bluuminn.simplesns.model.QueryFinding;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+@AllArgsConstructor
+@Getter
+public class QueryFindingResponse {
+    private QueryFinding.Type type;
+    private String endpoint;
+    private String sql;
+    private String callSite;
+    private long occurrences;
+    private long worst;
+    private Timestamp lastSeenAt;
+
+    public static QueryFindingResponse fromFinding(QueryFinding finding) {
+        return new QueryFindingResponse(
+                finding.getType(),
+                finding.getEndpoint(),
+                finding.getSql(),
+                finding.getCallSite(),
+                finding.getOccurrences(),
+                finding.getWorst(),
+                finding.getLastSeenAt()
+        );
+    }
+}
@@ -0,0 +1,68 @@
+package com.bluuminn.simplesns.domain;
+
+import com.bluuminn.simplesns.model.AlarmArgs;
+import com.bluuminn.simplesns.model.AlarmType;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.Where;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+@SQLDelete(sql = "UPDATE \"alarm\" SET deleted_at = NOW() where id=?")
+@Where(clause = "deleted_at is NULL")
+@NoArgsConstructor
+@Getter
+@Table(name = "\"alarm\"", indexes = {
+        @Index(name = "alarm_user_id_id_idx", columnList = "user_id, id")
+})
+@Entity
+public class AlarmEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "alarm_id_seq_generator")
+    @SequenceGenerator(name = "alarm_id_seq_generator", sequenceName = "alarm_id_seq", allocationSize = 50)
+    private Integer id;
+
+    // 알람을 받는 user
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private UserEntity user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "alarm_type")
+    private AlarmType alarmType;
+
+    @Embedded
+    private AlarmArgs args;
+
+    @Column(name = "registered_at")
+    private Timestamp registerdAt;
+
+    @Column(name = "updated_at")
+    private Timestamp updatedAt;
+
+    @Column(name = "deleted_at")
+    private Timestamp deletedAt;
+
+    @PrePersist
+    void registerdAt() {
+        this.registerdAt = Timestamp.from(Instant.now());
+    }
+
+    @PreUpdate
+    void updatedAt() {
+        this.updatedAt = Timestamp.from(Instant.now());
+    }
+
+    private AlarmEntity(UserEntity user, AlarmType alarmType, AlarmArgs args) {
+        this.user = user;
+        this.alarmType = alarmType;
+        this.args = args;
+    }
+
+    public static AlarmEntity of(UserEntity user, AlarmType alarmType, AlarmArgs args) {
+        return new AlarmEntity(user, alarmType, args);
+    }
+}
@@ -0,0 +1,66 @@
+package com.bluuminn.simplesns.domain;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.Where;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+@SQLDelete(sql = "UPDATE \"comment\" SET deleted_at = NOW() where id=?")
+@Where(clause = "deleted_at is NULL")
+@NoArgsConstructor
+@Getter
+@Table(name = "\"comment\"", indexes = {
+        @Index(name = "comment_post_id_id_idx", columnList = "post_id, id")
+})
+@Entity
+public class CommentEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_id_seq_generator")
+    @SequenceGenerator(name = "comment_id_seq_generator", sequenceName = "comment_id_seq", allocationSize = 50)
+    private Integer id;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id")
+    private UserEntity user;
+
+    // 댓글 목록은 post_id로만 조회하므로 post는 필요할 때만 가져온다
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "post_id")
+    private PostEntity post;
+
+    @Column(name = "comment", columnDefinition = "TEXT")
+    private String comment;
+
+    @Column(name = "registered_at")
+    private Timestamp registerdAt;
+
+    @Column(name = "updated_at")
+    private Timestamp updatedAt;
+
+    @Column(name = "deleted_at")
+    private Timestamp deletedAt;
+
+    @PrePersist
+    void registerdAt() {
+        this.registerdAt = Timestamp.from(Instant.now());
+    }
+
+    @PreUpdate
+    void updatedAt() {
+        this.updatedAt = Timestamp.from(Instant.now());
+    }
+
+    private CommentEntity(UserEntity user, PostEntity post, String comment) {
+        this.user = user;
+        this.post = post;
+        this.comment = comment;
+    }
+
+    public static CommentEntity of(UserEntity user, PostEntity post, String comment) {
+        return new CommentEntity(user, post, comment);
+    }
+}
@@ -0,0 +1,50 @@
+package com.bluuminn.simplesns.domain;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+@NoArgsConstructor
+@Getter
+@Table(name = "\"follow\"", uniqueConstraints = {
+        @UniqueConstraint(name = "follow_follower_id_followee_id_uk", columnNames = {"follower_id", "followee_id"})
+}, indexes = {
+        // fan-out 시 작성자의 follower 목록을 조회한다
+        @Index(name = "follow_followee_id_idx", columnList = "followee_id")
+})
+@Entity
+public class FollowEntity {
+    // 팔로우는 native insert(nextval)로만 저장되므로 sequence increment는 1이어야 한다
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "follow_id_seq_generator")
+    @SequenceGenerator(name = "follow_id_seq_generator", sequenceName = "follow_id_seq", allocationSize = 1)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "follower_id")
+    private UserEntity follower;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "followee_id")
+    private UserEntity followee;
+
+    @Column(name = "registered_at")
+    private Timestamp registerdAt;
+
+    @PrePersist
+    void registerdAt() {
+        this.registerdAt = Timestamp.from(Instant.now());
+    }
+
+    private FollowEntity(UserEntity follower, UserEntity followee) {
+        this.follower = follower;
+        this.followee = followee;
+    }
+
+    public static FollowEntity of(UserEntity follower, UserEntity followee) {
+        return new FollowEntity(follower, followee);
+    }
+}
@@ -13,11 +13,15 @@ import java.time.Instant;
 @Where(clause = "deleted_at is NULL")
 @NoArgsConstructor
 @Getter
-@Table(name = "\"like\"")
+@Table(name = "\"like\"", uniqueConstraints = {
+        @UniqueConstraint(name = "like_user_id_post_id_uk", columnNames = {"user_id", "post_id"})
+})
 @Entity
 public class LikeEntity {
+    // 좋아요는 native insert(nextval)로만 저장되므로 hibernate batch 이점이 없다. 요청마다 id를 50개씩 쓰지 않도록 1로 둔다
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "like_id_seq_generator")
+    @SequenceGenerator(name = "like_id_seq_generator", sequenceName = "like_id_seq", allocationSize = 1)
     private Integer id;
 
     @ManyToOne
@@ -2,6 +2,7 @@ package com.bluuminn.simplesns.domain;
 
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
@@ -11,13 +12,17 @@ import java.time.Instant;
 
 @SQLDelete(sql = "UPDATE \"post\" SET deleted_at = NOW() where id=?")
 @Where(clause = "deleted_at is NULL")
+@EntityListeners(PostEntityListener.class)
 @NoArgsConstructor
 @Getter
-@Table(name = "\"post\"")
+@Table(name = "\"post\"", indexes = {
+        @Index(name = "post_user_id_id_idx", columnList = "user_id, id")
+})
 @Entity
 public class PostEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_id_seq_generator")
+    @SequenceGenerator(name = "post_id_seq_generator", sequenceName = "post_id_seq", allocationSize = 50)
     private Integer id;
 
     @Column(name = "title")
@@ -30,6 +35,17 @@ public class PostEntity {
     @JoinColumn(name = "user_id")
     private UserEntity user;
 
+    // LikeEntity row 수를 반정규화한 값. 좋아요 시 단일 UPDATE로 증가시킨다
+    // entity를 수정(flush)할 때 읽어 둔 값으로 덮어쓰지 않도록 insert/update 대상에서 뺀다
+    @ColumnDefault("0")
+    @Column(name = "like_count", nullable = false, insertable = false, updatable = false)
+    private int likeCount;
+
+    // like_count와 같이 댓글 작성 시 단일 UPDATE로만 증가시킨다
+    @ColumnDefault("0")
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    private int commentCount;
+
     @Column(name = "registered_at")
     private Timestamp registerdAt;
 
@@ -0,0 +1,34 @@
+package com.bluuminn.simplesns.domain;
+
+import com.bluuminn.simplesns.repository.PostCacheRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * post가 수정되거나 soft delete 되면 캐시된 Post를 즉시 제거한다.
+ * flush와 commit 사이에 다른 요청이 이전 값을 다시 캐시할 수 있으므로 커밋 이후 한 번 더 제거한다.
+ */
+@RequiredArgsConstructor
+public class PostEntityListener {
+    private final ObjectProvider<PostCacheRepository> postCacheRepository;
+
+    @PostUpdate
+    @PostRemove
+    void evictPostCache(PostEntity entity) {
+        Integer postId = entity.getId();
+        postCacheRepository.ifAvailable(it -> it.deletePost(postId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    postCacheRepository.ifAvailable(it -> it.deletePost(postId));
+                }
+            });
+        }
+    }
+}
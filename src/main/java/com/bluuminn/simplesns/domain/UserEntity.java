@@ -4,6 +4,7 @@ import com.bluuminn.simplesns.model.UserRole;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
@@ -13,13 +14,15 @@ import java.time.Instant;
 
 @SQLDelete(sql = "UPDATE \"user\" SET deleted_at = NOW() where id=?")
 @Where(clause = "deleted_at is NULL")
+@EntityListeners(UserEntityListener.class)
 @NoArgsConstructor
 @Getter
 @Table(name = "\"user\"")
 @Entity
 public class UserEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_id_seq_generator")
+    @SequenceGenerator(name = "user_id_seq_generator", sequenceName = "user_id_seq", allocationSize = 50)
     private Integer id;
 
     @Column(name = "username")
@@ -32,6 +35,16 @@ public class UserEntity {
     @Column(name = "role")
     private UserRole role = UserRole.USER;
 
+    // FollowEntity row 수를 반정규화한 값. timeline fan-out 방식을 고를 때 사용한다
+    @ColumnDefault("0")
+    @Column(name = "follower_count", nullable = false)
+    private int followerCount;
+
+    // 삭제되지 않은 PostEntity row 수를 반정규화한 값. 내 포스트 목록의 approximate count로 사용한다
+    @ColumnDefault("0")
+    @Column(name = "post_count", nullable = false)
+    private int postCount;
+
     @Column(name = "registered_at")
     private Timestamp registerdAt;
 
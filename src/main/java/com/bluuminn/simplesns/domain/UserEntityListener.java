@@ -0,0 +1,22 @@
+package com.bluuminn.simplesns.domain;
+
+import com.bluuminn.simplesns.repository.UserCacheRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * user 정보가 수정되거나 soft delete 되면 캐시된 principal을 즉시 제거한다.
+ */
+@RequiredArgsConstructor
+public class UserEntityListener {
+    private final ObjectProvider<UserCacheRepository> userCacheRepository;
+
+    @PostUpdate
+    @PostRemove
+    void evictUserCache(UserEntity entity) {
+        userCacheRepository.ifAvailable(it -> it.deleteUser(entity.getUsername()));
+    }
+}
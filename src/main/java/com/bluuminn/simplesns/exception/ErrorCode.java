@@ -14,7 +14,11 @@ public enum ErrorCode {
     POST_NOT_FOUND(HttpStatus.NOT_FOUND, "Post not founded"),
     INVALID_PERMISSION(HttpStatus.UNAUTHORIZED, "Permission is invalid"),
     INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error"),
-    ALREADY_LIKED(HttpStatus.CONFLICT, "User already liked the post");
+    ALREADY_LIKED(HttpStatus.CONFLICT, "User already liked the post"),
+    INVALID_REQUEST(HttpStatus.BAD_REQUEST, "Request is invalid"),
+    ALREADY_FOLLOWED(HttpStatus.CONFLICT, "User already followed the user"),
+    NOT_FOLLOWED(HttpStatus.NOT_FOUND, "User does not follow the user"),
+    SERVER_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy");
 
     private final HttpStatus status;
     private final String message;
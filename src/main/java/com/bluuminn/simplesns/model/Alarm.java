@@ -0,0 +1,31 @@
+package com.bluuminn.simplesns.model;
+
+import com.bluuminn.simplesns.domain.AlarmEntity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+@Builder
+@AllArgsConstructor
+@Getter
+public class Alarm {
+    private Integer id;
+    private AlarmType alarmType;
+    private AlarmArgs args;
+    private Timestamp registeredAt;
+    private Timestamp updatedAt;
+    private Timestamp deletedAt;
+
+    public static Alarm fromEntity(AlarmEntity entity) {
+        return Alarm.builder()
+                .id(entity.getId())
+                .alarmType(entity.getAlarmType())
+                .args(entity.getArgs())
+                .registeredAt(entity.getRegisterdAt())
+                .updatedAt(entity.getUpdatedAt())
+                .deletedAt(entity.getDeletedAt())
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.bluuminn.simplesns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class AlarmArgs {
+    // 알람을 발생시킨 user
+    @Column(name = "from_user_id")
+    private Integer fromUserId;
+
+    // 알람 대상 (post id 등)
+    @Column(name = "target_id")
+    private Integer targetId;
+}
@@ -0,0 +1,13 @@
+package com.bluuminn.simplesns.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum AlarmType {
+    NEW_COMMENT_ON_POST("new comment!"),
+    NEW_LIKE_ON_POST("new like!");
+
+    private final String alarmText;
+}
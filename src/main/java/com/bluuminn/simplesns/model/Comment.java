@@ -0,0 +1,34 @@
+package com.bluuminn.simplesns.model;
+
+import com.bluuminn.simplesns.domain.CommentEntity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+@Builder
+@AllArgsConstructor
+@Getter
+public class Comment {
+    private Integer id;
+    private String comment;
+    private String userName;
+    private Integer postId;
+    private Timestamp registeredAt;
+    private Timestamp updatedAt;
+    private Timestamp deletedAt;
+
+    public static Comment fromEntity(CommentEntity entity) {
+        return Comment.builder()
+                .id(entity.getId())
+                .comment(entity.getComment())
+                .userName(entity.getUser().getUsername())
+                // lazy 연관관계지만 id는 프록시 초기화 없이 꺼낼 수 있다
+                .postId(entity.getPost().getId())
+                .registeredAt(entity.getRegisterdAt())
+                .updatedAt(entity.getUpdatedAt())
+                .deletedAt(entity.getDeletedAt())
+                .build();
+    }
+}
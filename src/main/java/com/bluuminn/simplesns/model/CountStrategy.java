@@ -0,0 +1,13 @@
+package com.bluuminn.simplesns.model;
+
+/**
+ * 페이지 목록 조회 시 전체 개수를 구하는 방식.
+ */
+public enum CountStrategy {
+    // select count(*)를 한 번 더 실행한다
+    EXACT,
+    // 공개 피드는 pg_class.reltuples, 내 포스트는 user.post_count 값을 사용한다
+    APPROXIMATE,
+    // 전체 개수 없이 다음 페이지 여부만 반환한다
+    NONE
+}
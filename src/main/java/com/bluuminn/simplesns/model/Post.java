@@ -8,7 +8,7 @@ import lombok.Getter;
 
 import java.sql.Timestamp;
 
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @Getter
 public class Post {
@@ -19,6 +19,9 @@ public class Post {
     private Timestamp registerdAt;
     private Timestamp updatedAt;
     private Timestamp deletedAt;
+    // withLikes 조회 시에만 채워진다
+    private Integer likeCount;
+    private Boolean likedByMe;
 
     public static Post fromEntity(PostEntity entity) {
         return Post.builder()
@@ -32,4 +35,10 @@ public class Post {
                 .build();
     }
 
+    public Post withLikes(Integer likeCount, Boolean likedByMe) {
+        return toBuilder()
+                .likeCount(likeCount)
+                .likedByMe(likedByMe)
+                .build();
+    }
 }
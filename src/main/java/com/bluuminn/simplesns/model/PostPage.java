@@ -0,0 +1,39 @@
+package com.bluuminn.simplesns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.function.Function;
+
+/**
+ * offset 페이지 조회 결과. totalElements는 countStrategy가 NONE이면 null이고, APPROXIMATE이면 추정값이다.
+ */
+@AllArgsConstructor
+@Getter
+public class PostPage {
+    private Slice<Post> posts;
+    private Long totalElements;
+    private CountStrategy countStrategy;
+
+    public static PostPage exact(Page<Post> page) {
+        return new PostPage(page, page.getTotalElements(), CountStrategy.EXACT);
+    }
+
+    public static PostPage approximate(Slice<Post> slice, long estimate) {
+        // 추정값이 이미 읽은 개수보다 작으면 마지막 페이지 계산이 틀어지므로 최소한 읽은 만큼은 보장한다
+        long minimum = slice.getPageable().isPaged()
+                ? slice.getPageable().getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0)
+                : slice.getNumberOfElements();
+        return new PostPage(slice, Math.max(estimate, minimum), CountStrategy.APPROXIMATE);
+    }
+
+    public static PostPage none(Slice<Post> slice) {
+        return new PostPage(slice, null, CountStrategy.NONE);
+    }
+
+    public PostPage map(Function<Post, Post> converter) {
+        return new PostPage(posts.map(converter), totalElements, countStrategy);
+    }
+}
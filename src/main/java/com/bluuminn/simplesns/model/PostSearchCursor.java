@@ -0,0 +1,33 @@
+package com.bluuminn.simplesns.model;
+
+import com.bluuminn.simplesns.exception.ErrorCode;
+import com.bluuminn.simplesns.exception.SnsApplicationException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 검색 결과 keyset 커서. 결과가 (score desc, id desc) 순이므로 마지막 결과의 두 값을 "{score}_{id}" 문자열로 주고받는다.
+ */
+@AllArgsConstructor
+@Getter
+public class PostSearchCursor {
+    private float score;
+    private Integer id;
+
+    public static PostSearchCursor parse(String cursor) {
+        String[] values = cursor.split("_");
+        try {
+            if (values.length != 2) {
+                throw new NumberFormatException(cursor);
+            }
+            return new PostSearchCursor(Float.parseFloat(values[0]), Integer.parseInt(values[1]));
+        } catch (NumberFormatException e) {
+            throw new SnsApplicationException(ErrorCode.INVALID_REQUEST, String.format("cursor %s is invalid", cursor));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return score + "_" + id;
+    }
+}
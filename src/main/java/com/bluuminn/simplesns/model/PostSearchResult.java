@@ -0,0 +1,14 @@
+package com.bluuminn.simplesns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+public class PostSearchResult {
+    private List<Post> posts;
+    private PostSearchCursor nextCursor;
+    private boolean hasNext;
+}
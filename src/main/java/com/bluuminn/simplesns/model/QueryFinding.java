@@ -0,0 +1,29 @@
+package com.bluuminn.simplesns.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+/**
+ * QueryDiagnostics가 찾은 문제 SQL 하나. 같은 (type, endpoint, sql)은 하나로 합쳐진다.
+ */
+@AllArgsConstructor
+@Getter
+public class QueryFinding {
+    private Type type;
+    // "GET /api/v1/posts" 형태
+    private String endpoint;
+    // 값을 ?로 바꾼 SQL
+    private String sql;
+    private String callSite;
+    // 발견된 요청 수
+    private long occurrences;
+    // N_PLUS_ONE: 한 요청에서 반복된 최대 횟수, SLOW: 최대 실행 시간(ms)
+    private long worst;
+    private Timestamp lastSeenAt;
+
+    public enum Type {
+        N_PLUS_ONE, SLOW
+    }
+}
@@ -0,0 +1,14 @@
+package com.bluuminn.simplesns.model.event;
+
+import com.bluuminn.simplesns.model.AlarmArgs;
+import com.bluuminn.simplesns.model.AlarmType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class AlarmEvent {
+    private Integer receiverUserId;
+    private AlarmType alarmType;
+    private AlarmArgs args;
+}
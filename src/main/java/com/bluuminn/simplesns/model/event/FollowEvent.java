@@ -0,0 +1,11 @@
+package com.bluuminn.simplesns.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class FollowEvent {
+    private Integer followerId;
+    private Integer followeeId;
+}
@@ -0,0 +1,12 @@
+package com.bluuminn.simplesns.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// post 수정/삭제
+@AllArgsConstructor
+@Getter
+public class PostChangedEvent {
+    private Integer postId;
+    private boolean deleted;
+}
@@ -0,0 +1,13 @@
+package com.bluuminn.simplesns.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+public class PostCreatedEvent {
+    private Integer userId;
+    private List<Integer> postIds;
+}
@@ -0,0 +1,19 @@
+package com.bluuminn.simplesns.repository;
+
+import com.bluuminn.simplesns.domain.AlarmEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AlarmEntityRepository extends JpaRepository<AlarmEntity, Integer> {
+
+    // (user_id, id) 인덱스를 타도록 user_id 컬럼으로만 조회한다
+    Page<AlarmEntity> findAllByUserId(Integer userId, Pageable pageable);
+
+    Slice<AlarmEntity> findAllByUserIdOrderByIdDesc(Integer userId, Pageable pageable);
+
+    Slice<AlarmEntity> findAllByUserIdAndIdLessThanOrderByIdDesc(Integer userId, Integer id, Pageable pageable);
+}
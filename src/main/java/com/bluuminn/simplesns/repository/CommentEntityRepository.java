@@ -0,0 +1,23 @@
+package com.bluuminn.simplesns.repository;
+
+import com.bluuminn.simplesns.domain.CommentEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CommentEntityRepository extends JpaRepository<CommentEntity, Integer> {
+
+    // 작성자를 같은 쿼리로 가져오고, (post_id, id) 인덱스를 타도록 post_id 컬럼으로만 조회한다
+    @EntityGraph(attributePaths = "user")
+    Page<CommentEntity> findAllByPostId(Integer postId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    Slice<CommentEntity> findAllByPostIdOrderByIdDesc(Integer postId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    Slice<CommentEntity> findAllByPostIdAndIdLessThanOrderByIdDesc(Integer postId, Integer id, Pageable pageable);
+}
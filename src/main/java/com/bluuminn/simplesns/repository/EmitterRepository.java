@@ -0,0 +1,45 @@
+package com.bluuminn.simplesns.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * 로그인한 user 당 하나의 SSE 연결을 보관한다.
+ * 연결은 스레드를 점유하지 않는 servlet async 요청이므로 유휴 연결 비용은 map entry 하나와 소켓 하나다.
+ */
+@Slf4j
+@Repository
+public class EmitterRepository {
+    private final Map<Integer, SseEmitter> emitterMap = new ConcurrentHashMap<>();
+
+    /**
+     * 같은 user의 이전 연결이 있으면 반환한다. 호출한 쪽에서 정리해야 한다.
+     */
+    public Optional<SseEmitter> save(Integer userId, SseEmitter sseEmitter) {
+        log.debug("Set sseEmitter {}", userId);
+        return Optional.ofNullable(emitterMap.put(userId, sseEmitter));
+    }
+
+    public Optional<SseEmitter> get(Integer userId) {
+        return Optional.ofNullable(emitterMap.get(userId));
+    }
+
+    // 새 연결로 교체된 뒤 이전 연결의 종료 콜백이 새 연결을 지우지 않도록 같은 emitter일 때만 지운다
+    public void delete(Integer userId, SseEmitter sseEmitter) {
+        emitterMap.remove(userId, sseEmitter);
+    }
+
+    public void forEach(BiConsumer<Integer, SseEmitter> action) {
+        emitterMap.forEach(action);
+    }
+
+    public Map<Integer, SseEmitter> getEmitterMap() {
+        return emitterMap;
+    }
+}
@@ -0,0 +1,34 @@
+package com.bluuminn.simplesns.repository;
+
+import com.bluuminn.simplesns.domain.FollowEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FollowEntityRepository extends JpaRepository<FollowEntity, Integer> {
+    // (follower_id, followee_id) unique 제약에 걸리면 insert 하지 않고 0을 반환한다
+    @Modifying
+    @Query(value = "INSERT INTO \"follow\" (id, follower_id, followee_id, registered_at) VALUES (nextval('follow_id_seq'), :followerId, :followeeId, NOW()) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("followerId") Integer followerId, @Param("followeeId") Integer followeeId);
+
+    @Modifying
+    @Query("delete from FollowEntity f where f.follower.id = :followerId and f.followee.id = :followeeId")
+    int deleteByFollowerIdAndFolloweeId(@Param("followerId") Integer followerId, @Param("followeeId") Integer followeeId);
+
+    @Query("select f.follower.id from FollowEntity f where f.followee.id = :followeeId")
+    List<Integer> findFollowerIdsByFolloweeId(@Param("followeeId") Integer followeeId);
+
+    // follower 수가 threshold 미만인 followee: 글 작성 시 timeline으로 fan-out 된다
+    @Query("select f.followee.id from FollowEntity f where f.follower.id = :followerId and f.followee.followerCount < :threshold")
+    List<Integer> findFanOutFolloweeIds(@Param("followerId") Integer followerId, @Param("threshold") int threshold);
+
+    // follower 수가 threshold 이상인 followee: 조회 시점에 글을 읽어와 merge 한다
+    @Query("select f.followee.id from FollowEntity f where f.follower.id = :followerId and f.followee.followerCount >= :threshold")
+    List<Integer> findCelebrityFolloweeIds(@Param("followerId") Integer followerId, @Param("threshold") int threshold);
+}
@@ -0,0 +1,34 @@
+package com.bluuminn.simplesns.repository;
+
+import com.bluuminn.simplesns.model.Post;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 외부 캐시 대신 사용하는 in-process 2차 캐시 (cache.post.second-level.enabled=true 일 때만 등록).
+ * 크기 제한이 없으므로 테스트/로컬 환경 용도로만 사용한다.
+ */
+@ConditionalOnProperty(name = "cache.post.second-level.enabled", havingValue = "true")
+@Repository
+public class InMemoryPostSecondLevelCache implements PostSecondLevelCache {
+    private final Map<Integer, Post> posts = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<Post> get(Integer postId) {
+        return Optional.ofNullable(posts.get(postId));
+    }
+
+    @Override
+    public void put(Post post) {
+        posts.put(post.getId(), post);
+    }
+
+    @Override
+    public void delete(Integer postId) {
+        posts.remove(postId);
+    }
+}
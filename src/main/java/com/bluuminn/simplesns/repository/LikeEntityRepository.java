@@ -4,10 +4,12 @@ import com.bluuminn.simplesns.domain.LikeEntity;
 import com.bluuminn.simplesns.domain.PostEntity;
 import com.bluuminn.simplesns.domain.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,4 +23,14 @@ public interface LikeEntityRepository extends JpaRepository<LikeEntity, Integer>
     Integer countByPost(@Param("post") PostEntity post);
 
     // Integer countByPost(PostEntity post); 이거랑 동일하게 동작하는듯 ..
+
+    // postIds 중 user가 좋아요 한 post id. (user_id, post_id) unique index를 탄다
+    @Query("select l.post.id from LikeEntity l where l.user.id = :userId and l.post.id in :postIds")
+    List<Integer> findLikedPostIds(@Param("userId") Integer userId, @Param("postIds") Collection<Integer> postIds);
+
+    // (user_id, post_id) unique 제약에 걸리면 insert 하지 않고 0을 반환한다
+    @Modifying
+    @Query(value = "INSERT INTO \"like\" (id, user_id, post_id, registered_at) VALUES (nextval('like_id_seq'), :userId, :postId, NOW()) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Integer userId, @Param("postId") Integer postId);
 }
@@ -0,0 +1,129 @@
+package com.bluuminn.simplesns.repository;
+
+import com.bluuminn.simplesns.model.Post;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * post id 기준으로 Post를 보관하는 read 캐시.
+ * 1차는 크기/TTL로 제한한 in-process 캐시이고, PostSecondLevelCache bean이 있으면 1차 miss 시 2차를 먼저 조회한다.
+ * 같은 post에 대한 동시 miss는 한 번만 로딩된다. 수정/삭제 시 PostEntityListener가 두 계층 모두에서 제거한다.
+ * 통계는 "cache.*{cache=post}", "cache.post.hit.ratio", "cache.post.load", "cache.post.second-level" 메트릭으로 노출된다.
+ */
+@Slf4j
+@Repository
+public class PostCacheRepository {
+    private final Cache<Integer, Post> cache;
+    private final ObjectProvider<PostSecondLevelCache> secondLevelCache;
+
+    private final Timer loadTimer;
+    private final Counter secondLevelHit;
+    private final Counter secondLevelMiss;
+
+    public PostCacheRepository(@Value("${cache.post.ttl-ms}") Long ttlMs,
+                               @Value("${cache.post.maximum-size}") Long maximumSize,
+                               ObjectProvider<PostSecondLevelCache> secondLevelCache,
+                               MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        this.secondLevelCache = secondLevelCache;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "post");
+        Gauge.builder("cache.post.hit.ratio", cache, it -> it.stats().hitRate()).register(meterRegistry);
+
+        this.loadTimer = Timer.builder("cache.post.load").register(meterRegistry);
+        this.secondLevelHit = Counter.builder("cache.post.second-level").tag("result", "hit").register(meterRegistry);
+        this.secondLevelMiss = Counter.builder("cache.post.second-level").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * 캐시에 없으면 loader로 읽어서 저장한다. 존재하지 않는 post는 캐시하지 않는다.
+     */
+    public Optional<Post> getPost(Integer postId, Function<Integer, Optional<Post>> loader) {
+        return Optional.ofNullable(cache.get(postId, key -> load(key, loader)));
+    }
+
+    /**
+     * 캐시에 없는 post만 모아서 loader를 한 번 호출한다. 존재하지 않는 post는 결과에 포함되지 않는다.
+     */
+    public Map<Integer, Post> getPosts(Collection<Integer> postIds, Function<Set<Integer>, Map<Integer, Post>> loader) {
+        return cache.getAll(postIds, keys -> loadAll(keys, loader));
+    }
+
+    public void deletePost(Integer postId) {
+        log.debug("Evict post from cache {}", postId);
+        cache.invalidate(postId);
+        secondLevelCache.ifAvailable(it -> it.delete(postId));
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    private Post load(Integer postId, Function<Integer, Optional<Post>> loader) {
+        PostSecondLevelCache secondLevel = secondLevelCache.getIfAvailable();
+        if (secondLevel != null) {
+            Optional<Post> cached = secondLevel.get(postId);
+            if (cached.isPresent()) {
+                secondLevelHit.increment();
+                return cached.get();
+            }
+            secondLevelMiss.increment();
+        }
+
+        Post post = loadTimer.record(() -> loader.apply(postId).orElse(null));
+        if (post != null && secondLevel != null) {
+            secondLevel.put(post);
+        }
+        return post;
+    }
+
+    private Map<Integer, Post> loadAll(Iterable<? extends Integer> postIds, Function<Set<Integer>, Map<Integer, Post>> loader) {
+        Map<Integer, Post> posts = new HashMap<>();
+        Set<Integer> missingIds = new HashSet<>();
+        postIds.forEach(missingIds::add);
+
+        PostSecondLevelCache secondLevel = secondLevelCache.getIfAvailable();
+        if (secondLevel != null) {
+            for (Integer postId : Set.copyOf(missingIds)) {
+                Optional<Post> cached = secondLevel.get(postId);
+                if (cached.isPresent()) {
+                    secondLevelHit.increment();
+                    posts.put(postId, cached.get());
+                    missingIds.remove(postId);
+                } else {
+                    secondLevelMiss.increment();
+                }
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            Map<Integer, Post> loaded = loadTimer.record(() -> loader.apply(missingIds));
+            if (secondLevel != null) {
+                loaded.values().forEach(secondLevel::put);
+            }
+            posts.putAll(loaded);
+        }
+        return posts;
+    }
+}
@@ -4,11 +4,131 @@ import com.bluuminn.simplesns.domain.PostEntity;
 import com.bluuminn.simplesns.domain.UserEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface PostEntityRepository extends JpaRepository<PostEntity, Integer> {
 
+    // 작성자를 fetch join 해서 목록 조회 시 작성자별 추가 select(N+1)가 발생하지 않도록 한다
+    @EntityGraph(attributePaths = "user")
+    Page<PostEntity> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
     Page<PostEntity> findAllByUser(UserEntity user, Pageable pageable);
+
+    // count 쿼리 없이 size + 1 건을 읽어 다음 페이지 여부만 판단한다 (CountStrategy APPROXIMATE, NONE)
+    @EntityGraph(attributePaths = "user")
+    Slice<PostEntity> findSliceBy(Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    Slice<PostEntity> findSliceByUser(UserEntity user, Pageable pageable);
+
+    // 마지막 ANALYZE/VACUUM 시점의 추정 row 수 (soft delete된 row 포함). 한 번도 분석되지 않았으면 -1 또는 0이다
+    @Query(value = "SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = CAST('\"post\"' AS regclass)", nativeQuery = true)
+    Long findApproximateCount();
+
+    // 커서(keyset) 페이징: id 기준으로 seek 하고 Slice로 반환해 count 쿼리를 실행하지 않는다
+    @EntityGraph(attributePaths = "user")
+    Slice<PostEntity> findAllByOrderByIdDesc(Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    Slice<PostEntity> findAllByIdLessThanOrderByIdDesc(Integer id, Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    Slice<PostEntity> findAllByUserOrderByIdDesc(UserEntity user, Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    Slice<PostEntity> findAllByUserAndIdLessThanOrderByIdDesc(UserEntity user, Integer id, Pageable pageable);
+
+    // timeline hydration: id 목록을 한 번의 select로 가져온다. 순서는 호출한 쪽에서 맞춘다
+    @EntityGraph(attributePaths = "user")
+    List<PostEntity> findAllByIdIn(Collection<Integer> ids);
+
+    // timeline 재구성/fan-out-on-read 용. post_user_id_id_idx (user_id, id)를 탄다
+    @Query("select p.id from PostEntity p where p.user.id in :userIds order by p.id desc")
+    List<Integer> findIdsByUserIdIn(@Param("userIds") Collection<Integer> userIds, Pageable pageable);
+
+    @Query("select p.id from PostEntity p where p.user.id in :userIds and p.id < :after order by p.id desc")
+    List<Integer> findIdsByUserIdInAndIdLessThan(@Param("userIds") Collection<Integer> userIds, @Param("after") Integer after, Pageable pageable);
+
+    // 전문 검색: search_vector(generated column, GIN index)를 ts_rank 순으로 읽고 (score, id)로 keyset 페이징한다
+    @Query(value = "SELECT p.id AS id, ts_rank(p.search_vector, q) AS score " +
+            "FROM \"post\" p, websearch_to_tsquery('simple', :query) q " +
+            "WHERE p.search_vector @@ q AND p.deleted_at IS NULL " +
+            "ORDER BY score DESC, p.id DESC LIMIT :limit", nativeQuery = true)
+    List<PostSearchHit> searchByFullText(@Param("query") String query, @Param("limit") int limit);
+
+    @Query(value = "SELECT p.id AS id, ts_rank(p.search_vector, q) AS score " +
+            "FROM \"post\" p, websearch_to_tsquery('simple', :query) q " +
+            "WHERE p.search_vector @@ q AND p.deleted_at IS NULL " +
+            "AND (ts_rank(p.search_vector, q), p.id) < (CAST(:afterScore AS real), :afterId) " +
+            "ORDER BY score DESC, p.id DESC LIMIT :limit", nativeQuery = true)
+    List<PostSearchHit> searchByFullTextAfter(@Param("query") String query, @Param("afterScore") float afterScore,
+                                              @Param("afterId") Integer afterId, @Param("limit") int limit);
+
+    // tsvector가 없는 DB(H2 등)용 fallback: 부분 문자열 일치, 최신순
+    @Query(value = "SELECT p.id AS id, CAST(0 AS real) AS score FROM \"post\" p " +
+            "WHERE (LOWER(p.title) LIKE LOWER('%' || :query || '%') ESCAPE '\\' OR LOWER(p.body) LIKE LOWER('%' || :query || '%') ESCAPE '\\') " +
+            "AND p.deleted_at IS NULL AND p.id < :afterId " +
+            "ORDER BY p.id DESC LIMIT :limit", nativeQuery = true)
+    List<PostSearchHit> searchByLike(@Param("query") String query, @Param("afterId") Integer afterId, @Param("limit") int limit);
+
+    // in-memory 검색 index 재구성용 streaming scan. 트랜잭션 안에서 사용하고 다 읽은 뒤 닫아야 한다
+    // id 순으로 읽어야 posting list에 끝에 덧붙이기만 한다
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select p.id as id, p.title as title, p.body as body from PostEntity p order by p.id")
+    Stream<PostSearchDocument> streamSearchDocuments();
+
+    @Query("select p.id as id, p.title as title, p.body as body from PostEntity p where p.id in :postIds")
+    List<PostSearchDocument> findSearchDocumentsByIdIn(@Param("postIds") Collection<Integer> postIds);
+
+    // 작성자 id만 필요할 때 사용한다. user 테이블은 join 하지 않는다
+    @Query("select p.user.id from PostEntity p where p.id = :postId")
+    Optional<Integer> findUserIdById(@Param("postId") Integer postId);
+
+    @Query("select p.likeCount from PostEntity p where p.id = :postId")
+    Optional<Integer> findLikeCountById(@Param("postId") Integer postId);
+
+    // 피드 한 페이지의 좋아요 수를 한 번에 읽는다. like 테이블을 group by 하지 않고 반정규화된 like_count를 사용한다
+    @Query("select p.id as id, p.likeCount as likeCount from PostEntity p where p.id in :postIds")
+    List<PostLikeCount> findLikeCountsByIdIn(@Param("postIds") Collection<Integer> postIds);
+
+    @Modifying
+    @Query("update PostEntity p set p.likeCount = p.likeCount + 1 where p.id = :postId")
+    int increaseLikeCount(@Param("postId") Integer postId);
+
+    @Query("select p.commentCount from PostEntity p where p.id = :postId")
+    Optional<Integer> findCommentCountById(@Param("postId") Integer postId);
+
+    @Modifying
+    @Query("update PostEntity p set p.commentCount = p.commentCount + 1 where p.id = :postId")
+    int increaseCommentCount(@Param("postId") Integer postId);
+
+    @Query("select max(p.id) from PostEntity p")
+    Integer findMaxId();
+
+    // reconcileLikeCounts 전에 같은 트랜잭션에서 잠근다. 진행 중인 좋아요(insert 후 like_count + 1)가 커밋될 때까지 기다린다
+    @Query(value = "SELECT p.id FROM \"post\" p WHERE p.id BETWEEN :fromId AND :toId FOR UPDATE", nativeQuery = true)
+    List<Integer> lockByIdBetween(@Param("fromId") Integer fromId, @Param("toId") Integer toId);
+
+    // like row 기준으로 like_count를 다시 계산한다. 값이 다른 row만 갱신한다
+    @Modifying
+    @Query(value = "UPDATE \"post\" p " +
+            "SET like_count = (SELECT count(*) FROM \"like\" l WHERE l.post_id = p.id AND l.deleted_at IS NULL) " +
+            "WHERE p.id BETWEEN :fromId AND :toId " +
+            "AND p.like_count <> (SELECT count(*) FROM \"like\" l WHERE l.post_id = p.id AND l.deleted_at IS NULL)", nativeQuery = true)
+    int reconcileLikeCounts(@Param("fromId") Integer fromId, @Param("toId") Integer toId);
 }
@@ -0,0 +1,78 @@
+package com.bluuminn.simplesns.repository;
+
+import com.bluuminn.simplesns.model.CountStrategy;
+import com.bluuminn.simplesns.model.PostPage;
+import com.bluuminn.simplesns.model.event.PostChangedEvent;
+import com.bluuminn.simplesns.model.event.PostCreatedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 공개 피드(GET /api/v1/posts)의 앞쪽 페이지를 (page, size, sort, count strategy) 기준으로 보관한다.
+ * 같은 키에 대한 동시 miss는 한 번만 조회하고 나머지 요청은 그 결과를 기다린다.
+ * 글이 작성/수정/삭제되면 커밋 이후 전체를 비운다. 커밋 직전에 시작된 조회가 이전 결과를 다시 넣을 수 있으므로 TTL을 짧게 둔다.
+ * 통계는 "cache.*{cache=feed}" 메트릭으로 노출된다.
+ */
+@Slf4j
+@Repository
+public class PostFeedCacheRepository {
+    private final Cache<Key, PostPage> cache;
+    private final int maxPage;
+    private final int maxPageSize;
+
+    public PostFeedCacheRepository(@Value("${cache.feed.ttl-ms}") Long ttlMs,
+                                   @Value("${cache.feed.maximum-size}") Long maximumSize,
+                                   @Value("${cache.feed.max-page}") int maxPage,
+                                   @Value("${cache.feed.max-page-size}") int maxPageSize,
+                                   MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        this.maxPage = maxPage;
+        this.maxPageSize = maxPageSize;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "feed");
+    }
+
+    /**
+     * 캐시 대상 페이지가 아니면 loader를 바로 호출한다.
+     */
+    public PostPage getPage(Pageable pageable, CountStrategy countStrategy, Supplier<PostPage> loader) {
+        if (!isCacheable(pageable)) {
+            return loader.get();
+        }
+        Key key = new Key(PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort()), countStrategy);
+        return cache.get(key, it -> loader.get());
+    }
+
+    @TransactionalEventListener(classes = {PostCreatedEvent.class, PostChangedEvent.class}, fallbackExecution = true)
+    public void clear() {
+        log.debug("Evict all feed pages from cache");
+        cache.invalidateAll();
+    }
+
+    private boolean isCacheable(Pageable pageable) {
+        return pageable.isPaged() && pageable.getPageNumber() <= maxPage && pageable.getPageSize() <= maxPageSize;
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+        private final Pageable pageable;
+        private final CountStrategy countStrategy;
+    }
+}
@@ -0,0 +1,8 @@
+package com.bluuminn.simplesns.repository;
+
+// PostEntityRepository.findLikeCountsByIdIn 결과 projection
+public interface PostLikeCount {
+    Integer getId();
+
+    Integer getLikeCount();
+}
@@ -0,0 +1,10 @@
+package com.bluuminn.simplesns.repository;
+
+// InMemoryPostSearchIndex 색인용 projection. user 등 연관 엔티티를 읽지 않는다
+public interface PostSearchDocument {
+    Integer getId();
+
+    String getTitle();
+
+    String getBody();
+}
@@ -0,0 +1,8 @@
+package com.bluuminn.simplesns.repository;
+
+// PostEntityRepository 검색 쿼리 결과 projection
+public interface PostSearchHit {
+    Integer getId();
+
+    Float getScore();
+}
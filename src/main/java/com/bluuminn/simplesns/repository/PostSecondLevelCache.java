@@ -0,0 +1,17 @@
+package com.bluuminn.simplesns.repository;
+
+import com.bluuminn.simplesns.model.Post;
+
+import java.util.Optional;
+
+/**
+ * PostCacheRepository의 2차 캐시. 여러 인스턴스가 공유하는 외부 캐시(redis 등)를 붙일 때 구현한다.
+ * 구현체가 bean으로 등록되어 있지 않으면 1차(in-process) 캐시만 사용한다.
+ */
+public interface PostSecondLevelCache {
+    Optional<Post> get(Integer postId);
+
+    void put(Post post);
+
+    void delete(Integer postId);
+}
@@ -0,0 +1,73 @@
+package com.bluuminn.simplesns.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * user 한 명의 home timeline.
+ * post id를 오름차순 int 배열에 capacity 만큼만 보관하고, 가득 차면 가장 오래된(작은) id부터 버린다.
+ * pooled sequence id는 커밋 순서와 완전히 일치하지 않으므로 append가 아니라 정렬 위치에 삽입한다.
+ */
+public class Timeline {
+    private final int[] ids;
+    private int size;
+    // capacity를 넘겨 오래된 id를 버린 적이 있으면 DB에 더 오래된 글이 남아 있다
+    private boolean truncated;
+
+    Timeline(int capacity) {
+        this.ids = new int[capacity];
+    }
+
+    static Timeline of(int capacity, List<Integer> postIds) {
+        Timeline timeline = new Timeline(capacity);
+        postIds.forEach(timeline::push);
+        timeline.truncated = postIds.size() >= capacity;
+        return timeline;
+    }
+
+    synchronized void push(int postId) {
+        int index = Arrays.binarySearch(ids, 0, size, postId);
+        if (index >= 0) {
+            return;
+        }
+        int insertAt = -index - 1;
+        if (size < ids.length) {
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = postId;
+            size++;
+            return;
+        }
+        truncated = true;
+        if (insertAt == 0) {
+            // 보관 중인 글보다 오래된 글이므로 넣지 않는다
+            return;
+        }
+        System.arraycopy(ids, 1, ids, 0, insertAt - 1);
+        ids[insertAt - 1] = postId;
+    }
+
+    /**
+     * after 보다 작은 post id를 최신순으로 최대 limit 개 반환한다.
+     */
+    public synchronized List<Integer> read(Integer after, int limit) {
+        int end = size;
+        if (after != null) {
+            int index = Arrays.binarySearch(ids, 0, size, after);
+            end = index >= 0 ? index : -index - 1;
+        }
+        List<Integer> postIds = new ArrayList<>(Math.min(limit, end));
+        for (int i = end - 1; i >= 0 && postIds.size() < limit; i--) {
+            postIds.add(ids[i]);
+        }
+        return postIds;
+    }
+
+    public synchronized boolean isTruncated() {
+        return truncated;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,64 @@
+package com.bluuminn.simplesns.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * user id 별 home timeline(최근 post id 목록)을 보관하는 in-process store.
+ * timeline 하나는 최대 capacity 개의 int만 가지며, 보관하는 user 수도 maximum-users로 제한한다.
+ * 캐시에 없는 timeline은 조회 시점에 DB에서 다시 만든다. 통계는 "cache.*{cache=timeline}" 메트릭으로 노출된다.
+ */
+@Slf4j
+@Repository
+public class TimelineRepository {
+    private final Cache<Integer, Timeline> cache;
+    private final int capacity;
+
+    public TimelineRepository(@Value("${timeline.capacity}") int capacity,
+                              @Value("${timeline.maximum-users}") Long maximumUsers,
+                              @Value("${timeline.expire-after-access-ms}") Long expireAfterAccessMs,
+                              MeterRegistry meterRegistry) {
+        this.capacity = capacity;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumUsers)
+                .expireAfterAccess(Duration.ofMillis(expireAfterAccessMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "timeline");
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * loader는 최신순 post id를 최대 capacity 개 반환해야 한다.
+     */
+    public Timeline get(Integer userId, Function<Integer, List<Integer>> loader) {
+        return cache.get(userId, key -> Timeline.of(capacity, loader.apply(key)));
+    }
+
+    /**
+     * 이미 만들어진 timeline에만 추가한다. 만들어지는 중이면 로딩이 끝난 뒤 추가되므로 누락되지 않는다.
+     */
+    public void push(Integer userId, Integer postId) {
+        cache.asMap().computeIfPresent(userId, (key, timeline) -> {
+            timeline.push(postId);
+            return timeline;
+        });
+    }
+
+    public void delete(Integer userId) {
+        log.debug("Evict timeline {}", userId);
+        cache.invalidate(userId);
+    }
+}
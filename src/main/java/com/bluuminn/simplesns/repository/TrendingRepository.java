@@ -0,0 +1,222 @@
+package com.bluuminn.simplesns.repository;
+
+import com.bluuminn.simplesns.util.IntObjectHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 최근 window-hours 시간 동안의 좋아요 수로 인기 post를 계산하는 in-process store.
+ *
+ * <p>좋아요는 1시간 bucket(post id → count) ring에 쌓이고, post 별 점수는 bucket마다 decay-per-hour^(경과 시간)을 곱한 합이다.
+ * 현재 bucket의 가중치가 1이므로 좋아요는 점수에 1씩 바로 더하고, bucket이 바뀔 때(1시간에 한 번)만 전체 점수를 다시 계산한다.
+ * 조회는 refresh 시점에 만든 상위 top-k post id 목록을 그대로 돌려준다.
+ */
+@Repository
+public class TrendingRepository {
+    private static final long BUCKET_MS = 60 * 60 * 1000L;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final int topK;
+    private final double decayPerHour;
+
+    // bucketIndexes[slot] = 해당 slot의 bucket 시작 시각 / BUCKET_MS, -1 이면 비어 있음
+    private final long[] bucketIndexes;
+    private final IntObjectHashMap<int[]>[] buckets;
+    private final IntObjectHashMap<double[]> scores = new IntObjectHashMap<>();
+    private long currentIndex = -1;
+
+    private volatile List<Integer> top = List.of();
+
+    @SuppressWarnings("unchecked")
+    public TrendingRepository(@Value("${trending.window-hours}") int windowHours,
+                              @Value("${trending.decay-per-hour}") double decayPerHour,
+                              @Value("${trending.top-k}") int topK) {
+        this.topK = topK;
+        this.decayPerHour = decayPerHour;
+        this.bucketIndexes = new long[windowHours];
+        this.buckets = new IntObjectHashMap[windowHours];
+        for (int slot = 0; slot < windowHours; slot++) {
+            bucketIndexes[slot] = -1;
+            buckets[slot] = new IntObjectHashMap<>();
+        }
+    }
+
+    public synchronized void record(int postId, long now) {
+        // 시계가 역행해서 now가 현재 bucket보다 과거여도 현재 bucket에 더한다
+        rotate(now / BUCKET_MS);
+        increase(buckets[slot(currentIndex)], postId, 1);
+        double[] score = scores.get(postId);
+        if (score == null) {
+            scores.put(postId, new double[]{1});
+        } else {
+            score[0] += 1;
+        }
+    }
+
+    // 삭제된 post. 상위 목록에서도 바로 빼고, 빈 자리는 다음 refresh에서 채워진다
+    public synchronized void remove(int postId) {
+        for (IntObjectHashMap<int[]> bucket : buckets) {
+            bucket.remove(postId);
+        }
+        if (scores.remove(postId) != null && top.contains(postId)) {
+            List<Integer> postIds = new ArrayList<>(top);
+            postIds.remove(Integer.valueOf(postId));
+            top = Collections.unmodifiableList(postIds);
+        }
+    }
+
+    /**
+     * 상위 top-k 목록을 다시 만든다. 조회(top)는 이 목록만 읽으므로 lock을 잡지 않는다.
+     */
+    public synchronized void refresh(long now) {
+        rotate(now / BUCKET_MS);
+
+        // root가 현재 상위 top-k 중 가장 낮은 순위인 heap
+        PriorityQueue<Entry> heap = new PriorityQueue<>(topK + 1);
+        scores.forEach((postId, score) -> {
+            if (heap.size() < topK) {
+                heap.add(new Entry(postId, score[0]));
+            } else if (Entry.compare(postId, score[0], heap.peek()) > 0) {
+                heap.poll();
+                heap.add(new Entry(postId, score[0]));
+            }
+        });
+        List<Integer> postIds = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            postIds.add(heap.poll().postId);
+        }
+        Collections.reverse(postIds);
+        top = Collections.unmodifiableList(postIds);
+    }
+
+    public List<Integer> top(int limit) {
+        List<Integer> snapshot = top;
+        return snapshot.subList(0, Math.min(limit, snapshot.size()));
+    }
+
+    public synchronized int size() {
+        return scores.size();
+    }
+
+    public synchronized void writeSnapshot(DataOutput out) throws IOException {
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeInt(buckets.length);
+        for (int slot = 0; slot < buckets.length; slot++) {
+            out.writeLong(bucketIndexes[slot]);
+            out.writeInt(buckets[slot].size());
+            IOException[] error = new IOException[1];
+            buckets[slot].forEach((postId, count) -> {
+                try {
+                    out.writeInt(postId);
+                    out.writeInt(count[0]);
+                } catch (IOException e) {
+                    error[0] = e;
+                }
+            });
+            if (error[0] != null) {
+                throw error[0];
+            }
+        }
+    }
+
+    /**
+     * 현재 window 밖의 bucket은 버린다. window 크기가 달라진 snapshot도 bucket 시작 시각 기준으로 다시 배치한다.
+     */
+    public synchronized void readSnapshot(DataInput in, long now) throws IOException {
+        if (in.readInt() != SNAPSHOT_VERSION) {
+            throw new IOException("Unsupported trending snapshot version");
+        }
+        // window 안의 모든 slot이 자기 bucket 시작 시각을 갖게 한 뒤 snapshot의 count를 더한다
+        rotate(now / BUCKET_MS);
+        int bucketCount = in.readInt();
+        for (int i = 0; i < bucketCount; i++) {
+            long index = in.readLong();
+            int size = in.readInt();
+            boolean inWindow = index >= 0 && bucketIndexes[slot(index)] == index;
+            for (int entry = 0; entry < size; entry++) {
+                int postId = in.readInt();
+                int count = in.readInt();
+                if (inWindow) {
+                    increase(buckets[slot(index)], postId, count);
+                }
+            }
+        }
+        recalculate();
+        refresh(now);
+    }
+
+    private void rotate(long index) {
+        if (index <= currentIndex) {
+            return;
+        }
+        // 지나간 시간 만큼의 slot을 비운다 (window 보다 오래 지났으면 전부)
+        for (long next = Math.max(currentIndex + 1, index - buckets.length + 1); next <= index; next++) {
+            int slot = slot(next);
+            bucketIndexes[slot] = next;
+            buckets[slot].clear();
+        }
+        currentIndex = index;
+        recalculate();
+    }
+
+    private void recalculate() {
+        scores.clear();
+        for (int slot = 0; slot < buckets.length; slot++) {
+            long age = currentIndex - bucketIndexes[slot];
+            if (bucketIndexes[slot] < 0 || age < 0 || age >= buckets.length) {
+                continue;
+            }
+            double weight = Math.pow(decayPerHour, age);
+            buckets[slot].forEach((postId, count) -> {
+                double[] score = scores.get(postId);
+                if (score == null) {
+                    scores.put(postId, new double[]{count[0] * weight});
+                } else {
+                    score[0] += count[0] * weight;
+                }
+            });
+        }
+    }
+
+    private int slot(long index) {
+        return (int) Math.floorMod(index, (long) buckets.length);
+    }
+
+    private static void increase(IntObjectHashMap<int[]> bucket, int postId, int delta) {
+        int[] count = bucket.get(postId);
+        if (count == null) {
+            bucket.put(postId, new int[]{delta});
+        } else {
+            count[0] += delta;
+        }
+    }
+
+    // 점수가 같으면 최신(id가 큰) post가 앞선다
+    private static class Entry implements Comparable<Entry> {
+        private final int postId;
+        private final double score;
+
+        Entry(int postId, double score) {
+            this.postId = postId;
+            this.score = score;
+        }
+
+        static int compare(int postId, double score, Entry other) {
+            int result = Double.compare(score, other.score);
+            return result != 0 ? result : Integer.compare(postId, other.postId);
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return compare(postId, score, other);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.bluuminn.simplesns.repository;
+
+import com.bluuminn.simplesns.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 인증된 principal(User)을 username 기준으로 보관하는 in-process 캐시.
+ * JwtTokenFilter가 요청마다 DB를 조회하지 않도록 크기/TTL 기준으로 제한해 둔다.
+ * hit/miss/eviction 통계는 "cache.*{cache=user}" 메트릭으로 노출된다.
+ */
+@Slf4j
+@Repository
+public class UserCacheRepository {
+    private final Cache<String, User> cache;
+
+    public UserCacheRepository(@Value("${cache.user.ttl-ms}") Long ttlMs,
+                               @Value("${cache.user.maximum-size}") Long maximumSize,
+                               MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user");
+    }
+
+    public void setUser(User user) {
+        log.debug("Set user to cache {}", user.getUsername());
+        cache.put(user.getUsername(), user);
+    }
+
+    public Optional<User> getUser(String username) {
+        return Optional.ofNullable(cache.getIfPresent(username));
+    }
+
+    public void deleteUser(String username) {
+        log.debug("Evict user from cache {}", username);
+        cache.invalidate(username);
+    }
+}
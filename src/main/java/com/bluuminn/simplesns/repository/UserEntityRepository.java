@@ -2,11 +2,41 @@ package com.bluuminn.simplesns.repository;
 
 import com.bluuminn.simplesns.domain.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserEntityRepository extends JpaRepository<UserEntity, Integer> {
     Optional<UserEntity> findByUsername(String username);
+
+    @Query("select u.followerCount from UserEntity u where u.id = :userId")
+    Optional<Integer> findFollowerCountById(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query("update UserEntity u set u.followerCount = u.followerCount + :delta where u.id = :userId")
+    int increaseFollowerCount(@Param("userId") Integer userId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("update UserEntity u set u.postCount = u.postCount + :delta where u.id = :userId")
+    int increasePostCount(@Param("userId") Integer userId, @Param("delta") int delta);
+
+    @Query("select max(u.id) from UserEntity u")
+    Integer findMaxId();
+
+    // reconcilePostCounts 전에 같은 트랜잭션에서 잠근다
+    @Query(value = "SELECT u.id FROM \"user\" u WHERE u.id BETWEEN :fromId AND :toId FOR UPDATE", nativeQuery = true)
+    List<Integer> lockByIdBetween(@Param("fromId") Integer fromId, @Param("toId") Integer toId);
+
+    // post row 기준으로 post_count를 다시 계산한다. 값이 다른 row만 갱신한다
+    @Modifying
+    @Query(value = "UPDATE \"user\" u " +
+            "SET post_count = (SELECT count(*) FROM \"post\" p WHERE p.user_id = u.id AND p.deleted_at IS NULL) " +
+            "WHERE u.id BETWEEN :fromId AND :toId " +
+            "AND u.post_count <> (SELECT count(*) FROM \"post\" p WHERE p.user_id = u.id AND p.deleted_at IS NULL)", nativeQuery = true)
+    int reconcilePostCounts(@Param("fromId") Integer fromId, @Param("toId") Integer toId);
 }
@@ -0,0 +1,217 @@
+package com.bluuminn.simplesns.service;
+
+import com.bluuminn.simplesns.controller.response.AlarmResponse;
+import com.bluuminn.simplesns.domain.AlarmEntity;
+import com.bluuminn.simplesns.model.Alarm;
+import com.bluuminn.simplesns.model.event.AlarmEvent;
+import com.bluuminn.simplesns.repository.AlarmEntityRepository;
+import com.bluuminn.simplesns.repository.EmitterRepository;
+import com.bluuminn.simplesns.repository.UserEntityRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 좋아요/댓글 알람을 요청 스레드 밖에서 저장한다.
+ * 이벤트는 요청 트랜잭션이 커밋된 뒤 bounded queue에 들어가고, 단일 worker가 batch-size 만큼 모아서 한 번에 insert 한다.
+ * 큐가 가득 차면 요청 지연을 늘리지 않도록 알람을 버린다(alarm.dropped).
+ * 저장된 알람은 구독 중인 user에게 SSE로 바로 전달한다(GET /api/v1/users/alarm과 같은 AlarmResponse 형태).
+ * heartbeat는 연결 수에 비례해서 오래 걸릴 수 있으므로 공용 @Scheduled 스레드가 아닌 전용 스레드에서 보낸다.
+ */
+@Slf4j
+@Service
+public class AlarmService {
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final long POLL_TIMEOUT_MS = 100;
+    private static final String ALARM_NAME = "alarm";
+
+    private final AlarmEntityRepository alarmEntityRepository;
+    private final EmitterRepository emitterRepository;
+    private final UserEntityRepository userEntityRepository;
+    private final UserService userService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long emitterTimeoutMs;
+    private final long heartbeatMs;
+
+    private final BlockingQueue<AlarmEvent> queue;
+    private final Thread worker = new Thread(this::run, "alarm-writer");
+    private volatile boolean running = true;
+    private final ScheduledExecutorService heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "alarm-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter dropped;
+    private final DistributionSummary flushSize;
+    private final Counter sendFailures;
+
+    public AlarmService(AlarmEntityRepository alarmEntityRepository,
+                        EmitterRepository emitterRepository,
+                        UserEntityRepository userEntityRepository,
+                        UserService userService,
+                        TransactionTemplate transactionTemplate,
+                        MeterRegistry meterRegistry,
+                        @Value("${alarm.queue.capacity}") int capacity,
+                        @Value("${alarm.queue.batch-size}") int batchSize,
+                        @Value("${alarm.emitter.timeout-ms}") long emitterTimeoutMs,
+                        @Value("${alarm.emitter.heartbeat-ms}") long heartbeatMs) {
+        this.alarmEntityRepository = alarmEntityRepository;
+        this.emitterRepository = emitterRepository;
+        this.userEntityRepository = userEntityRepository;
+        this.userService = userService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.heartbeatMs = heartbeatMs;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        this.dropped = Counter.builder("alarm.dropped").register(meterRegistry);
+        this.flushSize = DistributionSummary.builder("alarm.flush.size").register(meterRegistry);
+        this.sendFailures = Counter.builder("alarm.emitters.send.failures").register(meterRegistry);
+        meterRegistry.gaugeCollectionSize("alarm.queue.size", Tags.empty(), queue);
+        meterRegistry.gaugeMapSize("alarm.emitters.open", Tags.empty(), emitterRepository.getEmitterMap());
+    }
+
+    @PostConstruct
+    void start() {
+        worker.setDaemon(true);
+        worker.start();
+        heartbeatExecutor.scheduleWithFixedDelay(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        heartbeatExecutor.shutdownNow();
+        worker.join(POLL_TIMEOUT_MS * 10);
+        List<AlarmEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            save(remaining);
+        }
+    }
+
+    // 좋아요/댓글 트랜잭션이 커밋된 뒤에만 알람을 만든다
+    @TransactionalEventListener(fallbackExecution = true)
+    public void send(AlarmEvent event) {
+        if (!queue.offer(event)) {
+            dropped.increment();
+            log.warn("Alarm queue is full. drop alarm {} for user {}", event.getAlarmType(), event.getReceiverUserId());
+        }
+    }
+
+    public SseEmitter connectAlarm(String username) {
+        Integer userId = userService.loadUserByUsername(username).getId();
+        SseEmitter sseEmitter = new SseEmitter(emitterTimeoutMs);
+        // user 당 연결은 하나만 유지한다
+        emitterRepository.save(userId, sseEmitter).ifPresent(SseEmitter::complete);
+        sseEmitter.onCompletion(() -> emitterRepository.delete(userId, sseEmitter));
+        sseEmitter.onTimeout(() -> emitterRepository.delete(userId, sseEmitter));
+        sseEmitter.onError(e -> emitterRepository.delete(userId, sseEmitter));
+
+        send(userId, sseEmitter, SseEmitter.event().name(ALARM_NAME).data("connect completed"));
+        return sseEmitter;
+    }
+
+    // 프록시/로드밸런서가 유휴 연결을 끊지 않도록 주석 이벤트를 보내고, 끊긴 연결은 정리한다
+    void heartbeat() {
+        try {
+            emitterRepository.forEach((userId, sseEmitter) -> send(userId, sseEmitter, SseEmitter.event().comment("heartbeat")));
+        } catch (RuntimeException e) {
+            // 예외가 나가면 scheduleWithFixedDelay가 이후 실행을 멈춘다
+            log.error("Error occurs while sending heartbeat. {}", e.toString());
+        }
+    }
+
+    public Page<Alarm> alarmList(String username, Pageable pageable) {
+        Integer userId = userService.loadUserByUsername(username).getId();
+        return alarmEntityRepository.findAllByUserId(userId, pageable).map(Alarm::fromEntity);
+    }
+
+    public Slice<Alarm> scrollAlarms(String username, Integer after, int size) {
+        Integer userId = userService.loadUserByUsername(username).getId();
+        Pageable pageable = PageRequest.of(0, Math.max(1, Math.min(size, MAX_SCROLL_SIZE)));
+        if (after == null) {
+            return alarmEntityRepository.findAllByUserIdOrderByIdDesc(userId, pageable).map(Alarm::fromEntity);
+        }
+        return alarmEntityRepository.findAllByUserIdAndIdLessThanOrderByIdDesc(userId, after, pageable).map(Alarm::fromEntity);
+    }
+
+    private void run() {
+        List<AlarmEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AlarmEvent first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                save(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Error occurs while saving {} alarms. {}", batch.size(), e.toString());
+                dropped.increment(batch.size());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // sequence(pooled) id + jdbc batch 설정으로 한 번의 batch insert로 저장된다
+    private List<AlarmEntity> save(List<AlarmEvent> events) {
+        List<AlarmEntity> saved = transactionTemplate.execute(status -> alarmEntityRepository.saveAll(events.stream()
+                .map(event -> AlarmEntity.of(userEntityRepository.getById(event.getReceiverUserId()), event.getAlarmType(), event.getArgs()))
+                .collect(Collectors.toList())));
+        flushSize.record(events.size());
+        if (saved != null) {
+            saved.forEach(this::push);
+        }
+        return saved;
+    }
+
+    private void push(AlarmEntity alarmEntity) {
+        Integer userId = alarmEntity.getUser().getId();
+        emitterRepository.get(userId).ifPresent(sseEmitter -> send(userId, sseEmitter, SseEmitter.event()
+                .id(alarmEntity.getId().toString())
+                .name(ALARM_NAME)
+                .data(AlarmResponse.fromAlarm(Alarm.fromEntity(alarmEntity)))));
+    }
+
+    private void send(Integer userId, SseEmitter sseEmitter, SseEmitter.SseEventBuilder event) {
+        try {
+            sseEmitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            sendFailures.increment();
+            emitterRepository.delete(userId, sseEmitter);
+            sseEmitter.completeWithError(e);
+        }
+    }
+}
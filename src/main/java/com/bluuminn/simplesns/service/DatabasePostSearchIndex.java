@@ -0,0 +1,43 @@
+package com.bluuminn.simplesns.service;
+
+import com.bluuminn.simplesns.model.PostSearchCursor;
+import com.bluuminn.simplesns.repository.PostEntityRepository;
+import com.bluuminn.simplesns.repository.PostSearchHit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * post.search.full-text=true 이면 PostgreSQL tsvector(GIN index)를 ts_rank 순으로 조회하고,
+ * false 이면 tsvector가 없는 DB(H2 등)를 위해 부분 문자열 일치를 최신순으로 조회한다.
+ */
+@ConditionalOnProperty(name = "post.search.index", havingValue = "database", matchIfMissing = true)
+@Component
+public class DatabasePostSearchIndex implements PostSearchIndex {
+    private final PostEntityRepository postEntityRepository;
+    private final boolean fullText;
+
+    public DatabasePostSearchIndex(PostEntityRepository postEntityRepository,
+                                   @Value("${post.search.full-text}") boolean fullText) {
+        this.postEntityRepository = postEntityRepository;
+        this.fullText = fullText;
+    }
+
+    @Override
+    public List<PostSearchHit> search(String query, PostSearchCursor after, int limit) {
+        if (!fullText) {
+            return postEntityRepository.searchByLike(escapeLike(query), after == null ? Integer.MAX_VALUE : after.getId(), limit);
+        }
+        if (after == null) {
+            return postEntityRepository.searchByFullText(query, limit);
+        }
+        return postEntityRepository.searchByFullTextAfter(query, after.getScore(), after.getId(), limit);
+    }
+
+    // 검색어의 %, _ 를 wildcard가 아닌 문자로 찾도록 escape 한다 (searchByLike의 ESCAPE '\')
+    static String escapeLike(String query) {
+        return query.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,444 @@
+package com.bluuminn.simplesns.service;
+
+import com.bluuminn.simplesns.model.PostSearchCursor;
+import com.bluuminn.simplesns.model.event.PostChangedEvent;
+import com.bluuminn.simplesns.model.event.PostCreatedEvent;
+import com.bluuminn.simplesns.repository.PostEntityRepository;
+import com.bluuminn.simplesns.repository.PostSearchDocument;
+import com.bluuminn.simplesns.repository.PostSearchHit;
+import com.bluuminn.simplesns.util.IntObjectHashMap;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * PostgreSQL 확장 없이 사용할 수 있는 in-process inverted index (post.search.index=memory 일 때만 등록).
+ *
+ * <p>term → PostingList(delta + varint로 압축한 post id 목록)와 post id → (term id, title 포함 여부) 정렬 배열을 가진다.
+ * 시작 시 post 테이블을 id 순으로 streaming scan 해서 채우고, 이후에는 작성/수정/삭제 이벤트(커밋 이후)로 해당 post만 다시 색인한다.
+ * scan은 시작 시점의 snapshot을 읽으므로 scan 도중 이벤트로 반영된 post는 scan이 끝난 뒤 한 번 더 다시 읽는다.
+ *
+ * <p>posting list는 추가만 하므로 수정/삭제는 바뀐 term 수만큼의 작업으로 끝나고 write lock을 짧게 잡는다.
+ * 삭제되거나 term이 빠진 항목은 posting list에 남아 있다가 검색 시 post → term 배열로 걸러지고,
+ * compaction(post.search.memory.compact-interval-ms)이 term 하나씩 새 목록을 만들어 교체한다.
+ *
+ * <p>검색어는 공백/구두점으로 나눈 소문자 term이며 모든 term을 포함한 post만 찾는다(AND).
+ * 점수는 term 마다 title에 있으면 1.0, body에만 있으면 0.4를 더한 값이다 (ts_rank의 A/B 가중치와 같은 비율).
+ * 메모리 사용량은 "search.index.bytes.per.post" 메트릭으로 노출된다.
+ */
+@Slf4j
+@ConditionalOnProperty(name = "post.search.index", havingValue = "memory")
+@Component
+public class InMemoryPostSearchIndex implements PostSearchIndex {
+    private static final float TITLE_WEIGHT = 1.0f;
+    private static final float BODY_WEIGHT = 0.4f;
+    // 객체 header + 배열 header 대략값
+    private static final int OBJECT_OVERHEAD_BYTES = 16;
+
+    private final PostEntityRepository postEntityRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer searchTimer;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<PostingList> postings = new ArrayList<>();
+    // post id → 정렬된 (term id << 1 | title 포함 여부) 배열
+    private final IntObjectHashMap<int[]> postTerms = new IntObjectHashMap<>();
+    // rebuild 도중 이벤트로 refresh된 post id. rebuild 중이 아니면 null (rebuildLock으로 보호)
+    private final Object rebuildLock = new Object();
+    private Set<Integer> refreshedDuringRebuild;
+
+    public InMemoryPostSearchIndex(PostEntityRepository postEntityRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   MeterRegistry meterRegistry) {
+        this.postEntityRepository = postEntityRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.searchTimer = Timer.builder("search.index.query").register(meterRegistry);
+        Gauge.builder("search.index.posts", this, InMemoryPostSearchIndex::size).register(meterRegistry);
+        Gauge.builder("search.index.terms", this, InMemoryPostSearchIndex::termCount).register(meterRegistry);
+        Gauge.builder("search.index.bytes.per.post", this, InMemoryPostSearchIndex::bytesPerPost).baseUnit("bytes").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (rebuildLock) {
+            refreshedDuringRebuild = new HashSet<>();
+        }
+        Set<Integer> refreshed;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<PostSearchDocument> documents = postEntityRepository.streamSearchDocuments()) {
+                    documents.forEach(this::index);
+                }
+            });
+        } finally {
+            synchronized (rebuildLock) {
+                refreshed = refreshedDuringRebuild;
+                refreshedDuringRebuild = null;
+            }
+        }
+        // scan이 이벤트보다 늦게 옛 내용(또는 삭제된 post)을 덮어썼을 수 있으므로 커밋된 상태를 다시 읽는다
+        if (!refreshed.isEmpty()) {
+            refresh(refreshed);
+        }
+        log.info("Search index rebuilt. posts={} terms={} bytesPerPost={} took={}ms",
+                size(), termCount(), bytesPerPost(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCreated(PostCreatedEvent event) {
+        refresh(event.getPostIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChanged(PostChangedEvent event) {
+        refresh(List.of(event.getPostId()));
+    }
+
+    // 커밋된 상태를 다시 읽어서 색인한다. 삭제되어 조회되지 않는 post는 index에서 뺀다
+    private void refresh(Collection<Integer> postIds) {
+        synchronized (rebuildLock) {
+            if (refreshedDuringRebuild != null) {
+                refreshedDuringRebuild.addAll(postIds);
+            }
+        }
+        Set<Integer> missingIds = new HashSet<>(postIds);
+        for (PostSearchDocument document : postEntityRepository.findSearchDocumentsByIdIn(postIds)) {
+            index(document);
+            missingIds.remove(document.getId());
+        }
+        missingIds.forEach(this::remove);
+    }
+
+    public void index(PostSearchDocument document) {
+        index(document.getId(), document.getTitle(), document.getBody());
+    }
+
+    public void index(int postId, String title, String body) {
+        // term → title 포함 여부
+        Map<String, Boolean> terms = new LinkedHashMap<>();
+        tokenize(title).forEach(term -> terms.put(term, true));
+        tokenize(body).forEach(term -> terms.putIfAbsent(term, false));
+
+        lock.writeLock().lock();
+        try {
+            int[] entries = new int[terms.size()];
+            int i = 0;
+            for (Map.Entry<String, Boolean> term : terms.entrySet()) {
+                int termId = termIds.computeIfAbsent(term.getKey(), key -> {
+                    postings.add(new PostingList());
+                    return postings.size() - 1;
+                });
+                entries[i++] = termId << 1 | (term.getValue() ? 1 : 0);
+            }
+            Arrays.sort(entries);
+
+            // 새로 생긴 term만 posting에 추가하고 빠진 term은 stale로 표시한다. 유지된 term의 title 여부는 postTerms만 바꾸면 된다
+            int[] previous = postTerms.put(postId, entries);
+            for (int entry : entries) {
+                if (previous == null || indexOf(previous, entry >>> 1) < 0) {
+                    postings.get(entry >>> 1).add(postId);
+                }
+            }
+            if (previous != null) {
+                for (int entry : previous) {
+                    if (indexOf(entries, entry >>> 1) < 0) {
+                        postings.get(entry >>> 1).markStale();
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int postId) {
+        lock.writeLock().lock();
+        try {
+            int[] entries = postTerms.remove(postId);
+            if (entries != null) {
+                for (int entry : entries) {
+                    postings.get(entry >>> 1).markStale();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 무효 항목이 있거나 정렬되지 않은 id가 있는 posting list를 새로 만든다.
+     * 새 목록은 read lock 안에서(검색과 동시에) 만들고, 그 사이 해당 term이 바뀌지 않았을 때만 write lock으로 교체한다.
+     */
+    @Scheduled(fixedDelayString = "${post.search.memory.compact-interval-ms}")
+    public void compact() {
+        int compacted = 0;
+        for (int termId = 0, terms = termCount(); termId < terms; termId++) {
+            final int id = termId;
+            PostingList list;
+            PostingList replacement;
+            int modifications;
+            lock.readLock().lock();
+            try {
+                list = postings.get(id);
+                if (!list.isDirty()) {
+                    continue;
+                }
+                modifications = list.modifications();
+                replacement = list.compact(postId -> indexOf(postTerms.get(postId), id) >= 0);
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            lock.writeLock().lock();
+            try {
+                if (list.modifications() == modifications) {
+                    postings.set(id, replacement);
+                    compacted++;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        if (compacted > 0) {
+            log.debug("Search index compacted. lists={}", compacted);
+        }
+    }
+
+    @Override
+    public List<PostSearchHit> search(String query, PostSearchCursor after, int limit) {
+        return searchTimer.record(() -> find(query, after, limit));
+    }
+
+    private List<PostSearchHit> find(String query, PostSearchCursor after, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        int[] ids;
+        float[] scores;
+        int size;
+        lock.readLock().lock();
+        try {
+            int[] queryTermIds = new int[terms.size()];
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Integer termId = termIds.get(term);
+                if (termId == null) {
+                    return List.of();
+                }
+                queryTermIds[lists.size()] = termId;
+                lists.add(postings.get(termId));
+            }
+            // 가장 짧은 목록부터 교집합을 구한다
+            lists.sort((left, right) -> Integer.compare(left.count(), right.count()));
+
+            ids = new int[lists.get(0).count()];
+            size = lists.get(0).decode(ids);
+            for (int l = 1; l < lists.size() && size > 0; l++) {
+                PostingList list = lists.get(l);
+                int[] otherIds = new int[list.count()];
+                int otherSize = list.decode(otherIds);
+
+                int kept = 0;
+                for (int i = 0, j = 0; i < size && j < otherSize; ) {
+                    if (ids[i] < otherIds[j]) {
+                        i++;
+                    } else if (ids[i] > otherIds[j]) {
+                        j++;
+                    } else {
+                        ids[kept++] = ids[i];
+                        i++;
+                        j++;
+                    }
+                }
+                size = kept;
+            }
+
+            // posting list에 남은 무효 항목(삭제/term 제거)은 post → term 배열로 거르고, 점수도 여기서 계산한다
+            scores = new float[size];
+            int valid = 0;
+            for (int i = 0; i < size; i++) {
+                float score = score(postTerms.get(ids[i]), queryTermIds);
+                if (score > 0) {
+                    ids[valid] = ids[i];
+                    scores[valid] = score;
+                    valid++;
+                }
+            }
+            size = valid;
+        } finally {
+            lock.readLock().unlock();
+        }
+        return topK(ids, scores, size, after, limit);
+    }
+
+    // 모든 검색어를 포함하지 않으면 0
+    private static float score(int[] entries, int[] queryTermIds) {
+        if (entries == null) {
+            return 0;
+        }
+        float score = 0;
+        for (int termId : queryTermIds) {
+            int index = indexOf(entries, termId);
+            if (index < 0) {
+                return 0;
+            }
+            score += (entries[index] & 1) == 1 ? TITLE_WEIGHT : BODY_WEIGHT;
+        }
+        return score;
+    }
+
+    // (term id << 1 | flag)로 정렬된 배열에서 term id의 위치
+    private static int indexOf(int[] entries, int termId) {
+        if (entries == null) {
+            return -1;
+        }
+        int low = 0;
+        int high = entries.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midTermId = entries[mid] >>> 1;
+            if (midTermId < termId) {
+                low = mid + 1;
+            } else if (midTermId > termId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    // (score desc, id desc) 순 상위 limit 개. heap의 root는 현재 상위 limit 개 중 가장 낮은 순위다
+    private static List<PostSearchHit> topK(int[] ids, float[] scores, int size, PostSearchCursor after, int limit) {
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, (left, right) -> compare(scores[left], ids[left], scores[right], ids[right]));
+        for (int i = 0; i < size; i++) {
+            if (after != null && compare(scores[i], ids[i], after.getScore(), after.getId()) >= 0) {
+                continue;
+            }
+            if (heap.size() < limit) {
+                heap.add(i);
+            } else if (compare(scores[i], ids[i], scores[heap.peek()], ids[heap.peek()]) > 0) {
+                heap.poll();
+                heap.add(i);
+            }
+        }
+        List<PostSearchHit> hits = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            int index = heap.poll();
+            hits.add(new Hit(ids[index], scores[index]));
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    // 순위가 높을수록 크다
+    private static int compare(float leftScore, int leftId, float rightScore, int rightId) {
+        int result = Float.compare(leftScore, rightScore);
+        return result != 0 ? result : Integer.compare(leftId, rightId);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return postTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int termCount() {
+        lock.readLock().lock();
+        try {
+            return termIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // posting byte 배열 + post별 term id 배열 크기의 합을 post 수로 나눈 근사값. term 문자열(사전)은 포함하지 않는다
+    public double bytesPerPost() {
+        lock.readLock().lock();
+        try {
+            if (postTerms.isEmpty()) {
+                return 0;
+            }
+            long bytes = 0;
+            for (PostingList posting : postings) {
+                bytes += posting.bytes() + OBJECT_OVERHEAD_BYTES;
+            }
+            long[] forward = new long[1];
+            postTerms.forEach((postId, termIdArray) -> forward[0] += termIdArray.length * 4L + OBJECT_OVERHEAD_BYTES + 8);
+            return (double) (bytes + forward[0]) / postTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder token = new StringBuilder();
+        text.codePoints().forEach(codePoint -> {
+            if (Character.isLetterOrDigit(codePoint)) {
+                token.appendCodePoint(Character.toLowerCase(codePoint));
+            } else if (token.length() > 0) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        });
+        if (token.length() > 0) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    private static class Hit implements PostSearchHit {
+        private final Integer id;
+        private final Float score;
+
+        Hit(int id, float score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        @Override
+        public Integer getId() {
+            return id;
+        }
+
+        @Override
+        public Float getScore() {
+            return score;
+        }
+    }
+}
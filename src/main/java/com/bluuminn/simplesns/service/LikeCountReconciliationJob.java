@@ -0,0 +1,87 @@
+package com.bluuminn.simplesns.service;
+
+import com.bluuminn.simplesns.repository.PostEntityRepository;
+import com.bluuminn.simplesns.repository.UserEntityRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * post.like_count를 like row 기준으로, user.post_count를 post row 기준으로 다시 계산한다.
+ * 테이블 전체를 한 트랜잭션으로 잠그지 않도록 id 구간 단위로 나눠서 갱신한다.
+ *
+ * <p>동시성: UPDATE ... SET = (SELECT count(*)) 의 count는 statement 시작 시점 snapshot으로 계산되므로,
+ * 그 사이 커밋된 좋아요의 +1을 덮어쓸 수 있다. 그래서 구간의 row를 먼저 FOR UPDATE로 잠가서 진행 중인 증가가 커밋되기를 기다리고,
+ * 다음 statement(새 snapshot)에서 계산한다. 잠근 뒤 시작된 좋아요는 재계산이 커밋된 뒤에 +1 하므로 유실되지 않는다.
+ * 구간 트랜잭션 동안 해당 post의 좋아요는 잠깐 대기한다.
+ *
+ * <p>post_count 처럼 컬럼을 새로 추가했을 때의 backfill은 reconcile-on-startup=true로 한 번만 실행한다.
+ * 기본값은 false 이며, 평소에는 reconcile-cron 일정으로만 실행된다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class LikeCountReconciliationJob {
+    private static final int CHUNK_SIZE = 1000;
+
+    private final PostEntityRepository postEntityRepository;
+    private final UserEntityRepository userEntityRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${post.like-count.reconcile-on-startup}")
+    private boolean reconcileOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (reconcileOnStartup) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(cron = "${post.like-count.reconcile-cron}")
+    public void reconcile() {
+        Integer maxId = postEntityRepository.findMaxId();
+        if (maxId == null) {
+            return;
+        }
+
+        int updated = 0;
+        for (int fromId = 1; fromId <= maxId; fromId += CHUNK_SIZE) {
+            final int from = fromId;
+            final int to = fromId + CHUNK_SIZE - 1;
+            Integer count = transactionTemplate.execute(status -> {
+                postEntityRepository.lockByIdBetween(from, to);
+                return postEntityRepository.reconcileLikeCounts(from, to);
+            });
+            updated += count == null ? 0 : count;
+        }
+        log.info("Like count reconciliation finished. {} posts updated", updated);
+
+        reconcilePostCounts();
+    }
+
+    // post_count 컬럼이 추가되기 전에 가입한 user도 이 작업으로 채워진다
+    private void reconcilePostCounts() {
+        Integer maxId = userEntityRepository.findMaxId();
+        if (maxId == null) {
+            return;
+        }
+
+        int updated = 0;
+        for (int fromId = 1; fromId <= maxId; fromId += CHUNK_SIZE) {
+            final int from = fromId;
+            final int to = fromId + CHUNK_SIZE - 1;
+            Integer count = transactionTemplate.execute(status -> {
+                userEntityRepository.lockByIdBetween(from, to);
+                return userEntityRepository.reconcilePostCounts(from, to);
+            });
+            updated += count == null ? 0 : count;
+        }
+        log.info("Post count reconciliation finished. {} users updated", updated);
+    }
+}
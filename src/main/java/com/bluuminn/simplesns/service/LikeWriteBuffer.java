@@ -0,0 +1,202 @@
+package com.bluuminn.simplesns.service;
+
+import com.bluuminn.simplesns.model.event.PostLikedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 좋아요 write-behind 버퍼 (post.like.write-behind.enabled=true 일 때만 사용).
+ *
+ * <p>응답 의미: {@link #offer}가 true를 반환하면 API는 바로 성공을 응답하지만, 이 시점에는 아직 DB에 기록되지 않았다.
+ * 버퍼는 (user_id, post_id) 기준으로 중복을 제거하고, flush-interval-ms 마다 또는 max-batch-size 만큼 쌓이면
+ * JDBC batch로 like row를 insert 하고 post.like_count를 증가시킨다. 따라서 좋아요 수 조회는 최대 한 번의 flush 주기만큼 늦게 반영된다.
+ * 이미 DB에 저장된 좋아요와 중복되는 요청은 성공으로 응답한 뒤 flush 시점에 버려진다(dropped{reason=duplicate}).
+ * PostLikedEvent는 flush 트랜잭션이 커밋된 뒤 실제로 insert 된 좋아요에 대해서만 발행한다.
+ *
+ * <p>종료/장애: 정상 종료 시에는 {@link PreDestroy}에서 남은 좋아요를 모두 flush 한다.
+ * 프로세스가 비정상 종료되면 아직 flush 되지 않은 좋아요는 유실된다(at-most-once).
+ * flush 중 DB 오류가 발생한 batch도 재시도하지 않고 버린다(dropped{reason=error}).
+ * 버퍼가 capacity 만큼 차 있으면 PostService는 동기 insert로 처리한다.
+ */
+@Slf4j
+@Component
+public class LikeWriteBuffer {
+    private static final String INSERT_LIKE = "INSERT INTO \"like\" (id, user_id, post_id, registered_at) VALUES (nextval('like_id_seq'), ?, ?, NOW()) ON CONFLICT DO NOTHING";
+    private static final String INCREASE_LIKE_COUNT = "UPDATE \"post\" SET like_count = like_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final long flushIntervalMs;
+    private final int maxBatchSize;
+    private final int capacity;
+
+    // key: user_id << 32 | post_id, value: 버퍼에 들어온 시각(nano)
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "like-write-buffer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final DistributionSummary flushSize;
+    private final Timer lag;
+    private final Counter droppedDuplicate;
+    private final Counter droppedError;
+
+    public LikeWriteBuffer(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           ApplicationEventPublisher eventPublisher,
+                           MeterRegistry meterRegistry,
+                           @Value("${post.like.write-behind.enabled}") boolean enabled,
+                           @Value("${post.like.write-behind.flush-interval-ms}") long flushIntervalMs,
+                           @Value("${post.like.write-behind.max-batch-size}") int maxBatchSize,
+                           @Value("${post.like.write-behind.capacity}") int capacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxBatchSize = maxBatchSize;
+        this.capacity = capacity;
+
+        this.flushSize = DistributionSummary.builder("like.buffer.flush.size").register(meterRegistry);
+        this.lag = Timer.builder("like.buffer.lag").register(meterRegistry);
+        this.droppedDuplicate = Counter.builder("like.buffer.dropped").tag("reason", "duplicate").register(meterRegistry);
+        this.droppedError = Counter.builder("like.buffer.dropped").tag("reason", "error").register(meterRegistry);
+        meterRegistry.gaugeMapSize("like.buffer.pending", Tags.empty(), pending);
+    }
+
+    @PostConstruct
+    void start() {
+        if (enabled) {
+            flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(flushIntervalMs * 10, TimeUnit.MILLISECONDS);
+        if (enabled) {
+            flushSafely();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isFull() {
+        return pending.size() >= capacity;
+    }
+
+    /**
+     * 같은 (user, post) 좋아요가 이미 버퍼에 있으면 false를 반환한다.
+     */
+    public boolean offer(Integer userId, Integer postId) {
+        if (pending.putIfAbsent(key(userId, postId), System.nanoTime()) != null) {
+            return false;
+        }
+        if (pending.size() >= maxBatchSize && !flusher.isShutdown() && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushSafely);
+        }
+        return true;
+    }
+
+    private void flushSafely() {
+        flushRequested.set(false);
+        try {
+            while (!pending.isEmpty()) {
+                flush(drain());
+            }
+        } catch (RuntimeException e) {
+            log.error("Error occurs while flushing like buffer. {}", e.toString());
+        }
+    }
+
+    private Map<Long, Long> drain() {
+        Map<Long, Long> batch = new HashMap<>();
+        Iterator<Map.Entry<Long, Long>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext() && batch.size() < maxBatchSize) {
+            Map.Entry<Long, Long> entry = iterator.next();
+            batch.put(entry.getKey(), entry.getValue());
+            iterator.remove();
+        }
+        return batch;
+    }
+
+    private void flush(Map<Long, Long> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Long> keys = new ArrayList<>(batch.keySet());
+        List<Long> insertedKeys = new ArrayList<>(keys.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int[] inserted = jdbcTemplate.batchUpdate(INSERT_LIKE, keys.stream()
+                        .map(key -> new Object[]{userId(key), postId(key)})
+                        .collect(Collectors.toList()));
+
+                Map<Integer, Integer> likeCountByPost = new HashMap<>();
+                for (int i = 0; i < inserted.length; i++) {
+                    if (inserted[i] > 0) {
+                        insertedKeys.add(keys.get(i));
+                        likeCountByPost.merge(postId(keys.get(i)), 1, Integer::sum);
+                    } else {
+                        droppedDuplicate.increment();
+                    }
+                }
+                jdbcTemplate.batchUpdate(INCREASE_LIKE_COUNT, likeCountByPost.entrySet().stream()
+                        .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                        .collect(Collectors.toList()));
+            });
+        } catch (RuntimeException e) {
+            log.error("Error occurs while writing {} buffered likes. {}", keys.size(), e.toString());
+            droppedError.increment(keys.size());
+            return;
+        }
+
+        long now = System.nanoTime();
+        batch.values().forEach(acceptedAt -> lag.record(now - acceptedAt, TimeUnit.NANOSECONDS));
+        flushSize.record(keys.size());
+        insertedKeys.forEach(key -> eventPublisher.publishEvent(new PostLikedEvent(postId(key), userId(key))));
+    }
+
+    private static long key(Integer userId, Integer postId) {
+        return ((long) userId << 32) | (postId & 0xFFFFFFFFL);
+    }
+
+    private static int userId(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static int postId(long key) {
+        return (int) key;
+    }
+}
@@ -0,0 +1,17 @@
+package com.bluuminn.simplesns.service;
+
+import com.bluuminn.simplesns.model.PostSearchCursor;
+import com.bluuminn.simplesns.repository.PostSearchHit;
+
+import java.util.List;
+
+/**
+ * 포스트 검색 index. post.search.index 설정으로 구현을 고른다.
+ * database: DB 쿼리(PostgreSQL tsvector 또는 LIKE fallback), memory: in-process inverted index.
+ */
+public interface PostSearchIndex {
+    /**
+     * (score desc, id desc) 순으로 after 이후의 결과를 최대 limit 개 반환한다.
+     */
+    List<PostSearchHit> search(String query, PostSearchCursor after, int limit);
+}
@@ -0,0 +1,46 @@
+package com.bluuminn.simplesns.service;
+
+import com.bluuminn.simplesns.exception.ErrorCode;
+import com.bluuminn.simplesns.exception.SnsApplicationException;
+import com.bluuminn.simplesns.model.Post;
+import com.bluuminn.simplesns.model.PostSearchCursor;
+import com.bluuminn.simplesns.model.PostSearchResult;
+import com.bluuminn.simplesns.repository.PostSearchHit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 포스트 검색. PostSearchIndex에서 post id만 찾고, 본문은 post 캐시를 거쳐 한 번에 가져온다.
+ */
+@RequiredArgsConstructor
+@Service
+public class PostSearchService {
+    private static final int MAX_SEARCH_SIZE = 100;
+
+    private final PostSearchIndex postSearchIndex;
+    private final PostService postService;
+
+    public PostSearchResult search(String query, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new SnsApplicationException(ErrorCode.INVALID_REQUEST, "query is empty");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_SEARCH_SIZE));
+        PostSearchCursor after = cursor == null ? null : PostSearchCursor.parse(cursor);
+
+        // 한 건 더 읽어서 다음 페이지 여부를 판단한다
+        List<PostSearchHit> hits = postSearchIndex.search(query.strip(), after, limit + 1);
+        boolean hasNext = hits.size() > limit;
+        hits = hits.subList(0, Math.min(limit, hits.size()));
+        if (hits.isEmpty()) {
+            return new PostSearchResult(List.of(), null, false);
+        }
+
+        List<Post> posts = postService.getPosts(hits.stream().map(PostSearchHit::getId).collect(Collectors.toList()));
+        PostSearchHit last = hits.get(hits.size() - 1);
+        PostSearchCursor nextCursor = hasNext ? new PostSearchCursor(last.getScore(), last.getId()) : null;
+        return new PostSearchResult(posts, nextCursor, hasNext);
+    }
+}
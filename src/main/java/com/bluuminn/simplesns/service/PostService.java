@@ -1,35 +1,96 @@
 package com.bluuminn.simplesns.service;
 
-import com.bluuminn.simplesns.domain.LikeEntity;
+import com.bluuminn.simplesns.controller.request.PostCreateRequest;
+import com.bluuminn.simplesns.domain.CommentEntity;
 import com.bluuminn.simplesns.domain.PostEntity;
 import com.bluuminn.simplesns.domain.UserEntity;
 import com.bluuminn.simplesns.exception.ErrorCode;
 import com.bluuminn.simplesns.exception.SnsApplicationException;
+import com.bluuminn.simplesns.model.AlarmArgs;
+import com.bluuminn.simplesns.model.AlarmType;
+import com.bluuminn.simplesns.model.Comment;
+import com.bluuminn.simplesns.model.CountStrategy;
 import com.bluuminn.simplesns.model.Post;
+import com.bluuminn.simplesns.model.PostPage;
+import com.bluuminn.simplesns.model.event.AlarmEvent;
+import com.bluuminn.simplesns.model.event.PostChangedEvent;
+import com.bluuminn.simplesns.model.event.PostCreatedEvent;
+import com.bluuminn.simplesns.model.event.PostLikedEvent;
+import com.bluuminn.simplesns.repository.CommentEntityRepository;
 import com.bluuminn.simplesns.repository.LikeEntityRepository;
+import com.bluuminn.simplesns.repository.PostCacheRepository;
 import com.bluuminn.simplesns.repository.PostEntityRepository;
+import com.bluuminn.simplesns.repository.PostFeedCacheRepository;
+import com.bluuminn.simplesns.repository.PostLikeCount;
 import com.bluuminn.simplesns.repository.UserEntityRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+@Slf4j
 @RequiredArgsConstructor
 @Service
 public class PostService {
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final int MAX_BULK_CREATE_SIZE = 1000;
+    private static final int MAX_BATCH_GET_SIZE = 100;
 
     private final PostEntityRepository postEntityRepository;
     private final UserEntityRepository userEntityRepository;
     private final LikeEntityRepository likeEntityRepository;
+    private final CommentEntityRepository commentEntityRepository;
+    private final PostCacheRepository postCacheRepository;
+    private final PostFeedCacheRepository postFeedCacheRepository;
+    private final UserService userService;
+    private final LikeWriteBuffer likeWriteBuffer;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void create(String title, String body, String username) {
         UserEntity user = userEntityRepository.findByUsername(username)
                 .orElseThrow(() -> new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%s not founded", username)));
-        postEntityRepository.save(PostEntity.of(title, body, user));
+        PostEntity post = postEntityRepository.save(PostEntity.of(title, body, user));
+        userEntityRepository.increasePostCount(user.getId(), 1);
+
+        // follower timeline fan-out은 커밋 이후 TimelineService가 처리한다
+        eventPublisher.publishEvent(new PostCreatedEvent(user.getId(), List.of(post.getId())));
+    }
+
+    // sequence(pooled) id + hibernate.jdbc.batch_size 설정으로 N건의 insert가 ceil(N / batch_size)번의 batch로 전송된다
+    @Transactional
+    public int bulkCreate(List<PostCreateRequest> requests, String username) {
+        if (requests == null || requests.isEmpty() || requests.size() > MAX_BULK_CREATE_SIZE) {
+            throw new SnsApplicationException(ErrorCode.INVALID_REQUEST, String.format("bulk size must be between 1 and %d", MAX_BULK_CREATE_SIZE));
+        }
+        UserEntity user = userEntityRepository.findByUsername(username)
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%s not founded", username)));
+
+        List<PostEntity> posts = requests.stream()
+                .map(request -> PostEntity.of(request.getTitle(), request.getBody(), user))
+                .collect(Collectors.toList());
+        List<Integer> postIds = postEntityRepository.saveAll(posts).stream()
+                .map(PostEntity::getId)
+                .collect(Collectors.toList());
+        userEntityRepository.increasePostCount(user.getId(), postIds.size());
+        eventPublisher.publishEvent(new PostCreatedEvent(user.getId(), postIds));
+        return postIds.size();
     }
 
     @Transactional
@@ -48,6 +109,7 @@ public class PostService {
 
         post.updateTitle(title);
         post.updateBody(body);
+        eventPublisher.publishEvent(new PostChangedEvent(postId, false));
 
         return Post.fromEntity(post);
     }
@@ -64,17 +126,85 @@ public class PostService {
             throw new SnsApplicationException(ErrorCode.INVALID_PERMISSION, String.format("%s has no permission with %s", username, postId));
         }
         postEntityRepository.delete(post);
+        userEntityRepository.increasePostCount(user.getId(), -1);
+        eventPublisher.publishEvent(new PostChangedEvent(postId, true));
+    }
+
+    // 상세 조회와 좋아요/댓글의 존재 확인은 post 캐시를 거친다
+    public Post getPost(Integer postId) {
+        return postCacheRepository.getPost(postId, this::loadPost)
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.POST_NOT_FOUND, String.format("Post %d not founded", postId)));
+    }
+
+    /**
+     * 요청한 순서대로 존재하는 post만 반환한다. 중복 id는 한 번만 포함된다.
+     * 캐시에 없는 post는 작성자를 join 한 select 한 번으로 읽는다.
+     */
+    public List<Post> getPosts(List<Integer> postIds) {
+        if (postIds == null || postIds.isEmpty() || postIds.size() > MAX_BATCH_GET_SIZE) {
+            throw new SnsApplicationException(ErrorCode.INVALID_REQUEST, String.format("ids size must be between 1 and %d", MAX_BATCH_GET_SIZE));
+        }
+        // ?ids=1,,2 처럼 빈 값은 null로 바인딩된다. 캐시 key로 쓰기 전에 거른다
+        for (Integer postId : postIds) {
+            if (postId == null || postId <= 0) {
+                throw new SnsApplicationException(ErrorCode.INVALID_REQUEST, String.format("ids must be positive. ids: %s", postIds));
+            }
+        }
+        Set<Integer> orderedIds = new LinkedHashSet<>(postIds);
+        Map<Integer, Post> posts = postCacheRepository.getPosts(orderedIds, this::loadPosts);
+        return orderedIds.stream()
+                .filter(posts::containsKey)
+                .map(posts::get)
+                .collect(Collectors.toList());
+    }
+
+    // 앞쪽 피드 페이지는 캐시에서 읽는다. 작성/수정/삭제 이벤트로 무효화된다
+    public PostPage list(Pageable pageable, CountStrategy countStrategy) {
+        return postFeedCacheRepository.getPage(pageable, countStrategy, () -> loadPage(pageable, countStrategy));
+    }
+
+    public PostPage list(Pageable pageable, String username, boolean withLikes, CountStrategy countStrategy) {
+        PostPage posts = list(pageable, countStrategy);
+        return withLikes ? posts.map(likesOf(posts.getPosts().getContent(), username)) : posts;
+    }
+
+    public PostPage my(String username, Pageable pageable, boolean withLikes, CountStrategy countStrategy) {
+        PostPage posts = my(username, pageable, countStrategy);
+        return withLikes ? posts.map(likesOf(posts.getPosts().getContent(), username)) : posts;
+    }
+
+    // APPROXIMATE는 이미 읽은 user row의 post_count를 쓰므로 추가 쿼리가 없다
+    public PostPage my(String username, Pageable pageable, CountStrategy countStrategy) {
+        UserEntity user = userEntityRepository.findByUsername(username)
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%s not founded", username)));
+
+        switch (countStrategy) {
+            case APPROXIMATE:
+                return PostPage.approximate(postEntityRepository.findSliceByUser(user, pageable).map(Post::fromEntity), user.getPostCount());
+            case NONE:
+                return PostPage.none(postEntityRepository.findSliceByUser(user, pageable).map(Post::fromEntity));
+            default:
+                return PostPage.exact(postEntityRepository.findAllByUser(user, pageable).map(Post::fromEntity));
+        }
     }
 
-    public Page<Post> list(Pageable pageable) {
-        return postEntityRepository.findAll(pageable).map(Post::fromEntity);
+    public Slice<Post> scroll(Integer after, int size) {
+        Pageable pageable = scrollPageable(size);
+        if (after == null) {
+            return postEntityRepository.findAllByOrderByIdDesc(pageable).map(Post::fromEntity);
+        }
+        return postEntityRepository.findAllByIdLessThanOrderByIdDesc(after, pageable).map(Post::fromEntity);
     }
 
-    public Page<Post> my(String username, Pageable pageable) {
+    public Slice<Post> myScroll(String username, Integer after, int size) {
         UserEntity user = userEntityRepository.findByUsername(username)
                 .orElseThrow(() -> new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%s not founded", username)));
 
-        return postEntityRepository.findAllByUser(user, pageable).map(Post::fromEntity);
+        Pageable pageable = scrollPageable(size);
+        if (after == null) {
+            return postEntityRepository.findAllByUserOrderByIdDesc(user, pageable).map(Post::fromEntity);
+        }
+        return postEntityRepository.findAllByUserAndIdLessThanOrderByIdDesc(user, after, pageable).map(Post::fromEntity);
     }
 
     @Transactional
@@ -82,21 +212,134 @@ public class PostService {
         UserEntity user = userEntityRepository.findByUsername(username)
                 .orElseThrow(() -> new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%s not founded", username)));
 
-        PostEntity post = postEntityRepository.findById(postId)
-                .orElseThrow(() -> new SnsApplicationException(ErrorCode.POST_NOT_FOUND, String.format("Post %d not founded", postId)));
+        // post exists
+        getPost(postId);
 
-        // check liked
-        likeEntityRepository.findByUserAndPost(user, post).ifPresent(it -> {
-            throw new SnsApplicationException(ErrorCode.ALREADY_LIKED, String.format("username %s already liked post %d", username, postId));
-        });
+        // write-behind 모드: 버퍼에 넣고 바로 응답한다. 버퍼가 가득 차면 동기 insert로 처리한다
+        // PostLikedEvent(좋아요 알람)는 DB에 이미 있는 좋아요와 중복되지 않는 것이 확인된 뒤 flush에서 발행된다
+        if (likeWriteBuffer.isEnabled() && !likeWriteBuffer.isFull()) {
+            if (!likeWriteBuffer.offer(user.getId(), postId)) {
+                throw new SnsApplicationException(ErrorCode.ALREADY_LIKED, String.format("username %s already liked post %d", username, postId));
+            }
+        } else {
+            // check liked: unique 제약으로 중복 insert를 막으므로 조회 후 저장하는 사이의 race가 없다
+            if (likeEntityRepository.insertIfAbsent(user.getId(), postId) == 0) {
+                throw new SnsApplicationException(ErrorCode.ALREADY_LIKED, String.format("username %s already liked post %d", username, postId));
+            }
+            postEntityRepository.increaseLikeCount(postId);
+            eventPublisher.publishEvent(new PostLikedEvent(postId, user.getId()));
+        }
+    }
 
-        likeEntityRepository.save(LikeEntity.of(user, post));
+    // 실제로 저장된 좋아요에 대해서만 알람을 보낸다. 동기 insert면 like 트랜잭션 안에서, write-behind면 flush 이후에 호출된다
+    @EventListener
+    public void onLiked(PostLikedEvent event) {
+        Integer writerId;
+        try {
+            writerId = getPost(event.getPostId()).getUser().getId();
+        } catch (SnsApplicationException e) {
+            // flush 전에 삭제된 post
+            return;
+        }
+        publishAlarm(writerId, event.getUserId(), AlarmType.NEW_LIKE_ON_POST, event.getPostId());
     }
 
     public int likeCount(Integer postId) {
-        PostEntity post = postEntityRepository.findById(postId)
+        // post에 반정규화된 like_count를 읽는다
+        return postEntityRepository.findLikeCountById(postId)
                 .orElseThrow(() -> new SnsApplicationException(ErrorCode.POST_NOT_FOUND, String.format("Post %d not founded", postId)));
-        // count like
-        return likeEntityRepository.countByPost(post);
+    }
+
+    @Transactional
+    public void comment(Integer postId, String username, String comment) {
+        UserEntity user = userEntityRepository.findByUsername(username)
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%s not founded", username)));
+
+        Integer writerId = getPost(postId).getUser().getId();
+
+        // post는 FK로만 쓰이므로 select 없이 프록시 참조로 저장한다
+        commentEntityRepository.save(CommentEntity.of(user, postEntityRepository.getById(postId), comment));
+        postEntityRepository.increaseCommentCount(postId);
+
+        publishAlarm(writerId, user.getId(), AlarmType.NEW_COMMENT_ON_POST, postId);
+    }
+
+    public Page<Comment> getComments(Integer postId, Pageable pageable) {
+        return commentEntityRepository.findAllByPostId(postId, pageable).map(Comment::fromEntity);
+    }
+
+    public Slice<Comment> scrollComments(Integer postId, Integer after, int size) {
+        Pageable pageable = scrollPageable(size);
+        if (after == null) {
+            return commentEntityRepository.findAllByPostIdOrderByIdDesc(postId, pageable).map(Comment::fromEntity);
+        }
+        return commentEntityRepository.findAllByPostIdAndIdLessThanOrderByIdDesc(postId, after, pageable).map(Comment::fromEntity);
+    }
+
+    public int commentCount(Integer postId) {
+        return postEntityRepository.findCommentCountById(postId)
+                .orElseThrow(() -> new SnsApplicationException(ErrorCode.POST_NOT_FOUND, String.format("Post %d not founded", postId)));
+    }
+
+    private PostPage loadPage(Pageable pageable, CountStrategy countStrategy) {
+        switch (countStrategy) {
+            case APPROXIMATE:
+                Long estimate = approximateCount();
+                // 통계가 아직 없으면(ANALYZE 전) 정확한 count로 대신한다
+                if (estimate == null || estimate <= 0) {
+                    return PostPage.exact(postEntityRepository.findAll(pageable).map(Post::fromEntity));
+                }
+                return PostPage.approximate(postEntityRepository.findSliceBy(pageable).map(Post::fromEntity), estimate);
+            case NONE:
+                return PostPage.none(postEntityRepository.findSliceBy(pageable).map(Post::fromEntity));
+            default:
+                return PostPage.exact(postEntityRepository.findAll(pageable).map(Post::fromEntity));
+        }
+    }
+
+    // pg_class가 없는 DB(H2 등)에서는 null을 반환한다
+    private Long approximateCount() {
+        try {
+            return postEntityRepository.findApproximateCount();
+        } catch (DataAccessException e) {
+            log.debug("Approximate count is not available. {}", e.toString());
+            return null;
+        }
+    }
+
+    // 알람 저장은 AlarmService가 트랜잭션 커밋 이후 비동기로 처리한다
+    private void publishAlarm(Integer receiverUserId, Integer fromUserId, AlarmType alarmType, Integer postId) {
+        if (receiverUserId.equals(fromUserId)) {
+            return;
+        }
+        eventPublisher.publishEvent(new AlarmEvent(receiverUserId, alarmType, new AlarmArgs(fromUserId, postId)));
+    }
+
+    // 페이지 전체의 좋아요 수와 viewer의 좋아요 여부를 post 개수와 상관없이 쿼리 두 번으로 읽는다
+    private Function<Post, Post> likesOf(List<Post> posts, String username) {
+        if (posts.isEmpty()) {
+            return Function.identity();
+        }
+        Integer userId = userService.loadUserByUsername(username).getId();
+        List<Integer> postIds = posts.stream().map(Post::getId).collect(Collectors.toList());
+
+        Map<Integer, Integer> likeCounts = postEntityRepository.findLikeCountsByIdIn(postIds).stream()
+                .collect(Collectors.toMap(PostLikeCount::getId, PostLikeCount::getLikeCount));
+        Set<Integer> likedPostIds = new HashSet<>(likeEntityRepository.findLikedPostIds(userId, postIds));
+
+        return post -> post.withLikes(likeCounts.getOrDefault(post.getId(), 0), likedPostIds.contains(post.getId()));
+    }
+
+    private Optional<Post> loadPost(Integer postId) {
+        return postEntityRepository.findById(postId).map(Post::fromEntity);
+    }
+
+    private Map<Integer, Post> loadPosts(Set<Integer> postIds) {
+        return postEntityRepository.findAllByIdIn(postIds).stream()
+                .collect(Collectors.toMap(PostEntity::getId, Post::fromEntity));
+    }
+
+    private static Pageable scrollPageable(int size) {
+        return PageRequest.of(0, Math.max(1, Math.min(size, MAX_SCROLL_SIZE)));
     }
 }
@@ -0,0 +1,127 @@
+package com.bluuminn.simplesns.service;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * term 하나의 post id 목록 (InMemoryPostSearchIndex 전용). 추가만 가능하다.
+ * lastId 보다 큰 id는 이전 id와의 차이(delta)를 varint로 byte 배열 끝에 덧붙이고, 그렇지 않은 id(수정으로 새로 생긴 term, 역순 id)는 unsorted 배열에 모아 둔다.
+ * 삭제/수정으로 무효가 된 항목은 지우지 않고 stale 수만 센다. 유효 여부는 InMemoryPostSearchIndex의 post → term 목록으로 판단하고,
+ * 주기적인 compaction이 무효 항목을 걸러낸 새 목록으로 교체한다.
+ */
+final class PostingList {
+    private static final int[] EMPTY = new int[0];
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int sortedCount;
+    private int lastId;
+
+    private int[] unsorted = EMPTY;
+    private int unsortedCount;
+    private int stale;
+    // compaction 중 변경 여부 확인용
+    private int modifications;
+
+    /**
+     * decode 결과 개수의 상한 (무효/중복 항목 포함).
+     */
+    int count() {
+        return sortedCount + unsortedCount;
+    }
+
+    int bytes() {
+        return data.length + unsorted.length * Integer.BYTES;
+    }
+
+    int modifications() {
+        return modifications;
+    }
+
+    boolean isDirty() {
+        return stale > 0 || unsortedCount > 0;
+    }
+
+    void add(int postId) {
+        modifications++;
+        if (postId > lastId) {
+            append(postId);
+            return;
+        }
+        if (unsortedCount == unsorted.length) {
+            unsorted = Arrays.copyOf(unsorted, Math.max(4, unsorted.length * 2));
+        }
+        unsorted[unsortedCount++] = postId;
+    }
+
+    void markStale() {
+        modifications++;
+        stale++;
+    }
+
+    /**
+     * ids 배열(길이 count 이상)에 오름차순, 중복 없이 풀어 넣고 개수를 반환한다. 무효 항목도 포함된다.
+     */
+    int decode(int[] ids) {
+        int position = 0;
+        int id = 0;
+        int n = 0;
+        while (position < length) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            id += delta;
+            ids[n++] = id;
+        }
+        if (unsortedCount == 0) {
+            return n;
+        }
+        System.arraycopy(unsorted, 0, ids, n, unsortedCount);
+        n += unsortedCount;
+        Arrays.sort(ids, 0, n);
+        int distinct = 1;
+        for (int i = 1; i < n; i++) {
+            if (ids[i] != ids[distinct - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * live인 id만 정렬된 상태로 다시 인코딩한 새 목록.
+     */
+    PostingList compact(IntPredicate live) {
+        int[] ids = new int[count()];
+        int size = decode(ids);
+        PostingList compacted = new PostingList();
+        for (int i = 0; i < size; i++) {
+            if (live.test(ids[i])) {
+                compacted.append(ids[i]);
+            }
+        }
+        if (compacted.data.length > Math.max(8, compacted.length)) {
+            compacted.data = Arrays.copyOf(compacted.data, Math.max(8, compacted.length));
+        }
+        return compacted;
+    }
+
+    private void append(int postId) {
+        int value = postId - lastId;
+        if (length + 5 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+        }
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+        lastId = postId;
+        sortedCount++;
+    }
+}
@@ -0,0 +1,208 @@
+package com.bluuminn.simplesns.service;
+
+import com.bluuminn.simplesns.domain.PostEntity;
+import com.bluuminn.simplesns.model.Post;
+import com.bluuminn.simplesns.model.event.FollowEvent;
+import com.bluuminn.simplesns.model.event.PostCreatedEvent;
+import com.bluuminn.simplesns.repository.FollowEntityRepository;
+import com.bluuminn.simplesns.repository.PostEntityRepository;
+import com.bluuminn.simplesns.repository.Timeline;
+import com.bluuminn.simplesns.repository.TimelineRepository;
+import com.bluuminn.simplesns.repository.UserEntityRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * follow 기반 home timeline.
+ * 글이 작성되면 작성자의 follower timeline에 post id를 밀어 넣는다(fan-out-on-write).
+ * follower가 celebrity-threshold 이상인 작성자는 fan-out 하지 않고, 조회 시점에 그 작성자들의 글을 읽어 merge 한다(fan-out-on-read).
+ *
+ * <p>follower fan-out(follower 조회 + push)은 글 작성 요청 thread가 아니라 timeline.fan-out.threads 개의 전용 thread에서 한다.
+ * 그래서 follower timeline에는 커밋 직후가 아니라 잠시 뒤에 보일 수 있다(작성자 본인 timeline은 바로 반영된다).
+ * 대기열(timeline.fan-out.queue-capacity)이 가득 차면 요청 thread가 직접 fan-out 해서 메모리는 늘지 않고 작성 요청이 느려진다.
+ */
+@Slf4j
+@Service
+public class TimelineService {
+    private static final int MAX_SCROLL_SIZE = 100;
+
+    private final PostEntityRepository postEntityRepository;
+    private final FollowEntityRepository followEntityRepository;
+    private final UserEntityRepository userEntityRepository;
+    private final TimelineRepository timelineRepository;
+    private final UserService userService;
+    private final int celebrityThreshold;
+
+    private final DistributionSummary fanOutSize;
+    private final Counter fanOutCallerRuns;
+    private final ThreadPoolExecutor fanOutExecutor;
+
+    public TimelineService(PostEntityRepository postEntityRepository,
+                           FollowEntityRepository followEntityRepository,
+                           UserEntityRepository userEntityRepository,
+                           TimelineRepository timelineRepository,
+                           UserService userService,
+                           MeterRegistry meterRegistry,
+                           @Value("${timeline.celebrity-threshold}") int celebrityThreshold,
+                           @Value("${timeline.fan-out.threads}") int fanOutThreads,
+                           @Value("${timeline.fan-out.queue-capacity}") int fanOutQueueCapacity) {
+        this.postEntityRepository = postEntityRepository;
+        this.followEntityRepository = followEntityRepository;
+        this.userEntityRepository = userEntityRepository;
+        this.timelineRepository = timelineRepository;
+        this.userService = userService;
+        this.celebrityThreshold = celebrityThreshold;
+        this.fanOutSize = DistributionSummary.builder("timeline.fanout.size").register(meterRegistry);
+        this.fanOutCallerRuns = Counter.builder("timeline.fanout.caller.runs").register(meterRegistry);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(fanOutQueueCapacity);
+        this.fanOutExecutor = new ThreadPoolExecutor(fanOutThreads, fanOutThreads, 0, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "timeline-fan-out-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, (task, executor) -> {
+            // 대기열이 가득 찬 경우. 버리면 follower timeline에서 글이 빠지므로 요청 thread에서 실행한다
+            fanOutCallerRuns.increment();
+            if (!executor.isShutdown()) {
+                task.run();
+            }
+        });
+        meterRegistry.gaugeCollectionSize("timeline.fanout.queue.size", Tags.empty(), queue);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        fanOutExecutor.shutdown();
+        fanOutExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    // 글 작성 트랜잭션이 커밋된 뒤에만 fan-out 한다. 본인 timeline은 바로, follower timeline은 전용 thread에서 반영한다
+    @TransactionalEventListener(fallbackExecution = true)
+    public void fanOut(PostCreatedEvent event) {
+        Integer authorId = event.getUserId();
+        event.getPostIds().forEach(postId -> timelineRepository.push(authorId, postId));
+        fanOutExecutor.execute(() -> {
+            try {
+                fanOutToFollowers(event);
+            } catch (Exception e) {
+                log.error("Error occurs while fanning out posts {} of user {}. {}", event.getPostIds(), authorId, e.toString());
+            }
+        });
+    }
+
+    private void fanOutToFollowers(PostCreatedEvent event) {
+        Integer authorId = event.getUserId();
+        int followerCount = userEntityRepository.findFollowerCountById(authorId).orElse(0);
+        if (followerCount >= celebrityThreshold) {
+            return;
+        }
+        List<Integer> followerIds = followEntityRepository.findFollowerIdsByFolloweeId(authorId);
+        for (Integer followerId : followerIds) {
+            event.getPostIds().forEach(postId -> timelineRepository.push(followerId, postId));
+        }
+        fanOutSize.record(followerIds.size());
+    }
+
+    // follow 관계가 바뀌면 다음 조회 때 timeline을 다시 만든다
+    @TransactionalEventListener(fallbackExecution = true)
+    public void invalidate(FollowEvent event) {
+        timelineRepository.delete(event.getFollowerId());
+    }
+
+    public Slice<Post> timeline(String username, Integer after, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        Integer userId = userService.loadUserByUsername(username).getId();
+
+        // 한 건 더 읽어서 다음 페이지 여부를 판단한다
+        Timeline timeline = timelineRepository.get(userId, this::load);
+        List<Integer> postIds = timeline.read(after, limit + 1);
+        if (postIds.size() <= limit && timeline.isTruncated()) {
+            // 메모리에 남아 있는 것보다 오래된 구간은 DB에서 읽는다
+            postIds = findPostIds(fanOutAuthorIds(userId), after, limit + 1);
+        }
+
+        List<Integer> celebrityIds = followEntityRepository.findCelebrityFolloweeIds(userId, celebrityThreshold);
+        if (!celebrityIds.isEmpty()) {
+            postIds = merge(postIds, findPostIds(celebrityIds, after, limit + 1), limit + 1);
+        }
+
+        boolean hasNext = postIds.size() > limit;
+        List<Integer> pageIds = postIds.subList(0, Math.min(limit, postIds.size()));
+        return new SliceImpl<>(hydrate(pageIds), PageRequest.of(0, limit), hasNext);
+    }
+
+    private List<Integer> load(Integer userId) {
+        return postEntityRepository.findIdsByUserIdIn(fanOutAuthorIds(userId), PageRequest.of(0, timelineRepository.getCapacity()));
+    }
+
+    // 본인 + fan-out 대상 followee
+    private List<Integer> fanOutAuthorIds(Integer userId) {
+        List<Integer> authorIds = new ArrayList<>(followEntityRepository.findFanOutFolloweeIds(userId, celebrityThreshold));
+        authorIds.add(userId);
+        return authorIds;
+    }
+
+    private List<Integer> findPostIds(List<Integer> authorIds, Integer after, int limit) {
+        Pageable pageable = PageRequest.of(0, limit);
+        if (after == null) {
+            return postEntityRepository.findIdsByUserIdIn(authorIds, pageable);
+        }
+        return postEntityRepository.findIdsByUserIdInAndIdLessThan(authorIds, after, pageable);
+    }
+
+    // 두 최신순 id 목록을 최신순으로 합친다
+    private static List<Integer> merge(List<Integer> left, List<Integer> right, int limit) {
+        List<Integer> merged = new ArrayList<>(Math.min(limit, left.size() + right.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < left.size() || j < right.size())) {
+            if (j >= right.size() || (i < left.size() && left.get(i) > right.get(j))) {
+                merged.add(left.get(i++));
+            } else if (i >= left.size() || right.get(j) > left.get(i)) {
+                merged.add(right.get(j++));
+            } else {
+                merged.add(left.get(i++));
+                j++;
+            }
+        }
+        return merged;
+    }
+
+    // id 목록을 한 번의 select로 가져와 timeline 순서대로 정렬한다. 삭제된 글은 빠진다
+    private List<Post> hydrate(List<Integer> postIds) {
+        if (postIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, PostEntity> posts = postEntityRepository.findAllByIdIn(postIds).stream()
+                .collect(Collectors.toMap(PostEntity::getId, Function.identity()));
+        return postIds.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .map(Post::fromEntity)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,120 @@
+package com.bluuminn.simplesns.service;
+
+import com.bluuminn.simplesns.model.Post;
+import com.bluuminn.simplesns.model.event.PostChangedEvent;
+import com.bluuminn.simplesns.model.event.PostLikedEvent;
+import com.bluuminn.simplesns.repository.TrendingRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * 인기(hot) 포스트. 좋아요 트랜잭션이 커밋되면 TrendingRepository에 기록하고, 조회는 메모리의 상위 목록만 읽는다.
+ * 재시작해도 순위가 초기화되지 않도록 주기적으로 bucket 전체를 파일로 저장하고 시작 시 다시 읽는다.
+ */
+@Slf4j
+@Service
+public class TrendingService {
+    private static final int MAX_TRENDING_SIZE = 100;
+
+    private final TrendingRepository trendingRepository;
+    private final PostService postService;
+    private final boolean snapshotEnabled;
+    private final Path snapshotPath;
+    private final Timer refreshTimer;
+
+    public TrendingService(TrendingRepository trendingRepository,
+                           PostService postService,
+                           MeterRegistry meterRegistry,
+                           @Value("${trending.snapshot.enabled}") boolean snapshotEnabled,
+                           @Value("${trending.snapshot.path}") String snapshotPath) {
+        this.trendingRepository = trendingRepository;
+        this.postService = postService;
+        this.snapshotEnabled = snapshotEnabled;
+        this.snapshotPath = Paths.get(snapshotPath);
+        this.refreshTimer = Timer.builder("trending.refresh").register(meterRegistry);
+        Gauge.builder("trending.posts", trendingRepository, TrendingRepository::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void restore() {
+        if (!snapshotEnabled || !Files.exists(snapshotPath)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            trendingRepository.readSnapshot(in, System.currentTimeMillis());
+            log.info("Trending snapshot restored. {} posts from {}", trendingRepository.size(), snapshotPath);
+        } catch (IOException | RuntimeException e) {
+            // snapshot이 깨졌으면 빈 상태로 시작한다
+            log.warn("Error occurs while restoring trending snapshot {}. {}", snapshotPath, e.toString());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        snapshot();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLiked(PostLikedEvent event) {
+        trendingRepository.record(event.getPostId(), System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChanged(PostChangedEvent event) {
+        if (event.isDeleted()) {
+            trendingRepository.remove(event.getPostId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${trending.refresh-ms}")
+    public void refresh() {
+        refreshTimer.record(() -> trendingRepository.refresh(System.currentTimeMillis()));
+    }
+
+    // 임시 파일에 쓴 뒤 rename 해서 쓰는 도중에 죽어도 이전 snapshot이 남게 한다
+    @Scheduled(fixedDelayString = "${trending.snapshot.interval-ms}", initialDelayString = "${trending.snapshot.interval-ms}")
+    public void snapshot() {
+        if (!snapshotEnabled) {
+            return;
+        }
+        try {
+            Path directory = snapshotPath.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, snapshotPath.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                trendingRepository.writeSnapshot(out);
+            }
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Error occurs while writing trending snapshot {}. {}", snapshotPath, e.toString());
+        }
+    }
+
+    // 삭제 직후 ~ 다음 refresh 사이에는 size보다 적게 반환될 수 있다
+    public List<Post> trending(int size) {
+        List<Integer> postIds = trendingRepository.top(Math.max(1, Math.min(size, MAX_TRENDING_SIZE)));
+        if (postIds.isEmpty()) {
+            return List.of();
+        }
+        return postService.getPosts(postIds);
+    }
+}
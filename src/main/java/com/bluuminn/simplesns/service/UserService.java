@@ -4,10 +4,14 @@ import com.bluuminn.simplesns.domain.UserEntity;
 import com.bluuminn.simplesns.exception.ErrorCode;
 import com.bluuminn.simplesns.exception.SnsApplicationException;
 import com.bluuminn.simplesns.model.User;
+import com.bluuminn.simplesns.model.event.FollowEvent;
+import com.bluuminn.simplesns.repository.FollowEntityRepository;
+import com.bluuminn.simplesns.repository.UserCacheRepository;
 import com.bluuminn.simplesns.repository.UserEntityRepository;
 import com.bluuminn.simplesns.util.JwtTokenUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,6 +21,9 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserService {
     private final UserEntityRepository userEntityRepository;
     private final BCryptPasswordEncoder encoder;
+    private final UserCacheRepository userCacheRepository;
+    private final FollowEntityRepository followEntityRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${jwt.secret-key}")
     private String secretKey;
@@ -51,7 +58,39 @@ public class UserService {
     }
 
     public User loadUserByUsername(String username) {
-        return userEntityRepository.findByUsername(username).map(User::fromEntity).orElseThrow(() ->
-                new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%s not found", username)));
+        return userCacheRepository.getUser(username).orElseGet(() -> {
+            User user = userEntityRepository.findByUsername(username).map(User::fromEntity).orElseThrow(() ->
+                    new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("%s not found", username)));
+            userCacheRepository.setUser(user);
+            return user;
+        });
+    }
+
+    @Transactional
+    public void follow(String username, Integer followeeId) {
+        User user = loadUserByUsername(username);
+        if (user.getId().equals(followeeId)) {
+            throw new SnsApplicationException(ErrorCode.INVALID_REQUEST, String.format("%s cannot follow itself", username));
+        }
+        if (!userEntityRepository.existsById(followeeId)) {
+            throw new SnsApplicationException(ErrorCode.USER_NOT_FOUND, String.format("User %d not founded", followeeId));
+        }
+
+        // (follower_id, followee_id) unique 제약으로 중복 follow를 막는다
+        if (followEntityRepository.insertIfAbsent(user.getId(), followeeId) == 0) {
+            throw new SnsApplicationException(ErrorCode.ALREADY_FOLLOWED, String.format("%s already followed user %d", username, followeeId));
+        }
+        userEntityRepository.increaseFollowerCount(followeeId, 1);
+        eventPublisher.publishEvent(new FollowEvent(user.getId(), followeeId));
+    }
+
+    @Transactional
+    public void unfollow(String username, Integer followeeId) {
+        User user = loadUserByUsername(username);
+        if (followEntityRepository.deleteByFollowerIdAndFolloweeId(user.getId(), followeeId) == 0) {
+            throw new SnsApplicationException(ErrorCode.NOT_FOLLOWED, String.format("%s does not follow user %d", username, followeeId));
+        }
+        userEntityRepository.increaseFollowerCount(followeeId, -1);
+        eventPublisher.publishEvent(new FollowEvent(user.getId(), followeeId));
     }
 }
@@ -0,0 +1,17 @@
+package com.bluuminn.simplesns.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+@AllArgsConstructor
+@Getter
+public class VerifiedToken {
+    private String username;
+    private Date expiration;
+
+    public boolean isExpired() {
+        return expiration.before(new Date());
+    }
+}
@@ -0,0 +1,14 @@
+-- IDENTITY(serial)로 만들어진 기존 sequence를 hibernate pooled optimizer의 allocationSize(50)에 맞춘다.
+-- 이미 increment 50인 경우에도 여러 번 실행해도 안전하다.
+ALTER SEQUENCE "user_id_seq" INCREMENT BY 50;
+ALTER SEQUENCE "post_id_seq" INCREMENT BY 50;
+-- like/follow는 native insert의 nextval()로만 id를 받으므로 increment 1을 유지한다(이미 50으로 바뀐 DB도 되돌린다).
+ALTER SEQUENCE "like_id_seq" INCREMENT BY 1;
+ALTER SEQUENCE "follow_id_seq" INCREMENT BY 1;
+
+-- 포스트 검색(GET /api/v1/posts/search): title(A) / body(B) 가중치를 둔 tsvector를 generated column으로 유지하고 GIN index로 조회한다.
+-- 한국어 형태소 사전이 없으므로 'simple' 설정(소문자화 + 공백/구두점 분리)을 사용한다. PostgreSQL 12 이상이 필요하다.
+ALTER TABLE "post" ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') || setweight(to_tsvector('simple', coalesce(body, '')), 'B')
+) STORED;
+CREATE INDEX IF NOT EXISTS post_search_vector_idx ON "post" USING GIN (search_vector);
@@ -0,0 +1,108 @@
+package com.bluuminn.simplesns.configuration;
+
+import com.bluuminn.simplesns.model.QueryFinding;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryDiagnosticsTest {
+    private static final String ENDPOINT = "GET /api/v1/posts";
+
+    private final QueryDiagnostics queryDiagnostics = new QueryDiagnostics(true, 3, 1000, 60000, 100);
+
+    private void execute(String sql) {
+        QueryDiagnostics.onPrepare(sql);
+        QueryDiagnostics.onExecuteStart();
+        QueryDiagnostics.onExecuteEnd();
+    }
+
+    @DisplayName("같은 형태의 SQL이 threshold 보다 많이 실행되면 N+1로 기록되는 경우")
+    @Test
+    void detect_n_plus_one() {
+        queryDiagnostics.begin();
+        execute("select * from \"user\" where id=1");
+        for (int i = 1; i <= 4; i++) {
+            execute("select * from \"like\" where post_id=" + i);
+        }
+        queryDiagnostics.end(ENDPOINT);
+
+        List<QueryFinding> findings = queryDiagnostics.report(10);
+        assertThat(findings).hasSize(1);
+        QueryFinding finding = findings.get(0);
+        assertThat(finding.getType()).isEqualTo(QueryFinding.Type.N_PLUS_ONE);
+        assertThat(finding.getEndpoint()).isEqualTo(ENDPOINT);
+        assertThat(finding.getSql()).isEqualTo("select * from \"like\" where post_id=?");
+        assertThat(finding.getWorst()).isEqualTo(4);
+        assertThat(finding.getCallSite()).isNotNull();
+    }
+
+    @DisplayName("threshold 이하로 실행되면 기록되지 않는 경우")
+    @Test
+    void under_threshold() {
+        queryDiagnostics.begin();
+        for (int i = 1; i <= 3; i++) {
+            execute("select * from \"like\" where post_id=" + i);
+        }
+        queryDiagnostics.end(ENDPOINT);
+
+        assertThat(queryDiagnostics.report(10)).isEmpty();
+    }
+
+    @DisplayName("여러 요청에서 발견되면 occurrences가 늘어나는 경우")
+    @Test
+    void aggregate_requests() {
+        for (int request = 0; request < 2; request++) {
+            queryDiagnostics.begin();
+            for (int i = 1; i <= 5 + request; i++) {
+                execute("select * from comment where post_id=" + i);
+            }
+            queryDiagnostics.end(ENDPOINT);
+        }
+
+        QueryFinding finding = queryDiagnostics.report(10).get(0);
+        assertThat(finding.getOccurrences()).isEqualTo(2);
+        assertThat(finding.getWorst()).isEqualTo(6);
+    }
+
+    @DisplayName("slow-threshold-ms 보다 오래 걸린 SQL이 기록되는 경우")
+    @Test
+    void detect_slow_query() throws InterruptedException {
+        QueryDiagnostics slowDiagnostics = new QueryDiagnostics(true, 10, 10, 60000, 100);
+        slowDiagnostics.begin();
+        execute("select * from post where id=1");
+        QueryDiagnostics.onPrepare("select count(*) from post");
+        QueryDiagnostics.onExecuteStart();
+        Thread.sleep(30);
+        QueryDiagnostics.onExecuteEnd();
+        slowDiagnostics.end(ENDPOINT);
+
+        List<QueryFinding> findings = slowDiagnostics.report(10);
+        assertThat(findings).hasSize(1);
+        assertThat(findings.get(0).getType()).isEqualTo(QueryFinding.Type.SLOW);
+        assertThat(findings.get(0).getSql()).isEqualTo("select count(*) from post");
+        assertThat(findings.get(0).getWorst()).isGreaterThanOrEqualTo(10);
+    }
+
+    @DisplayName("진단 모드가 꺼져 있으면 추적하지 않는 경우")
+    @Test
+    void disabled() {
+        QueryDiagnostics disabledDiagnostics = new QueryDiagnostics(false, 0, 0, 60000, 100);
+        disabledDiagnostics.begin();
+        execute("select * from post where id=1");
+        disabledDiagnostics.end(ENDPOINT);
+
+        assertThat(disabledDiagnostics.report(10)).isEmpty();
+    }
+
+    @DisplayName("SQL의 값과 in 목록을 ?로 바꾸는 경우")
+    @Test
+    void normalize() {
+        assertThat(QueryDiagnostics.normalize("SELECT *\n  FROM post WHERE title = 'it''s' AND id IN (1, 2, 3)"))
+                .isEqualTo("select * from post where title = ? and id in (?)");
+        assertThat(QueryDiagnostics.normalize("select * from post where id in (?, ?)"))
+                .isEqualTo("select * from post where id in (?)");
+    }
+}
@@ -0,0 +1,117 @@
+package com.bluuminn.simplesns.configuration.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    private MockHttpServletResponse perform(AdmissionControlFilter filter, String uri, FilterChain filterChain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", uri), response, filterChain);
+        return response;
+    }
+
+    // permit을 잡은 채로 release 될 때까지 기다리는 요청
+    private Future<MockHttpServletResponse> hold(AdmissionControlFilter filter) throws InterruptedException {
+        Future<MockHttpServletResponse> future = executor.submit(() -> perform(filter, "/api/v1/posts", (request, response) -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        return future;
+    }
+
+    @DisplayName("대기열이 가득 찬 경우 503과 Retry-After를 반환")
+    @Test
+    void queue_full() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(1, 0, 1000, 3, meterRegistry);
+        Future<MockHttpServletResponse> held = hold(filter);
+
+        MockHttpServletResponse response = perform(filter, "/api/v1/posts", (request, res) -> {
+        });
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+        assertThat(response.getContentAsString()).contains("SERVER_BUSY");
+        assertThat(meterRegistry.get("admission.rejected").tag("reason", "queue_full").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(held.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+        assertThat(perform(filter, "/api/v1/posts", (request, res) -> {
+        }).getStatus()).isEqualTo(200);
+    }
+
+    @DisplayName("queue-timeout-ms 동안 permit을 얻지 못한 경우 503을 반환")
+    @Test
+    void queue_timeout() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(1, 10, 50, 1, meterRegistry);
+        hold(filter);
+
+        MockHttpServletResponse response = perform(filter, "/api/v1/posts", (request, res) -> {
+        });
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(meterRegistry.get("admission.rejected").tag("reason", "timeout").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("admission.queue.size").gauge().value()).isZero();
+    }
+
+    @DisplayName("대기 후 permit을 얻은 경우 대기 시간이 기록되는 경우")
+    @Test
+    void record_queue_wait() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(1, 10, 5000, 1, meterRegistry);
+        hold(filter);
+        new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            release.countDown();
+        }).start();
+
+        MockHttpServletResponse response = perform(filter, "/api/v1/posts", (request, res) -> {
+        });
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("admission.queue.wait").timer().max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(40);
+    }
+
+    @DisplayName("API가 아닌 요청은 제한하지 않는 경우")
+    @Test
+    void skip_non_api() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(1, 0, 1000, 1, meterRegistry);
+        hold(filter);
+
+        assertThat(perform(filter, "/actuator/health", (request, res) -> {
+        }).getStatus()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,94 @@
+package com.bluuminn.simplesns.controller;
+
+import com.bluuminn.simplesns.controller.request.PostBulkCreateRequest;
+import com.bluuminn.simplesns.controller.request.PostCreateRequest;
+import com.bluuminn.simplesns.service.PostService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest
+class AdminControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private PostService postService;
+
+    @DisplayName("포스트 bulk 작성")
+    @WithMockUser(authorities = "ADMIN")
+    @Test
+    void bulk_create_posts() throws Exception {
+        mockMvc.perform(post("/api/v1/admin/posts/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new PostBulkCreateRequest(List.of(new PostCreateRequest("title", "body")))))
+                ).andDo(print())
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("포스트 bulk 작성 시 관리자가 아닌 경우")
+    @WithMockUser
+    @Test
+    void not_admin_when_bulk_create_posts() throws Exception {
+        mockMvc.perform(post("/api/v1/admin/posts/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new PostBulkCreateRequest(List.of(new PostCreateRequest("title", "body")))))
+                ).andDo(print())
+                .andExpect(status().isForbidden());
+    }
+
+    @DisplayName("prometheus 메트릭 조회")
+    @WithMockUser(authorities = "ADMIN")
+    @Test
+    void scrape_prometheus() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("auth_jwt_verify_seconds")));
+    }
+
+    @DisplayName("prometheus 메트릭 조회 시 관리자가 아닌 경우")
+    @WithMockUser
+    @Test
+    void not_admin_when_scrape_prometheus() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+    }
+
+    @DisplayName("N+1/느린 SQL 진단 결과 조회")
+    @WithMockUser(authorities = "ADMIN")
+    @Test
+    void query_findings() throws Exception {
+        mockMvc.perform(get("/api/v1/admin/diagnostics/queries")
+                        .param("limit", "10")
+                ).andDo(print())
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("N+1/느린 SQL 진단 결과 조회 시 관리자가 아닌 경우")
+    @WithMockUser
+    @Test
+    void not_admin_when_query_findings() throws Exception {
+        mockMvc.perform(get("/api/v1/admin/diagnostics/queries"))
+                .andExpect(status().isForbidden());
+    }
+}
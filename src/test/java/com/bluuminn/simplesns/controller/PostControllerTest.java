@@ -1,12 +1,20 @@
 package com.bluuminn.simplesns.controller;
 
+import com.bluuminn.simplesns.controller.request.PostCommentRequest;
 import com.bluuminn.simplesns.controller.request.PostCreateRequest;
 import com.bluuminn.simplesns.controller.request.PostModifyRequest;
 import com.bluuminn.simplesns.exception.ErrorCode;
 import com.bluuminn.simplesns.exception.SnsApplicationException;
 import com.bluuminn.simplesns.fixture.PostEntityFixture;
+import com.bluuminn.simplesns.model.CountStrategy;
 import com.bluuminn.simplesns.model.Post;
+import com.bluuminn.simplesns.model.PostPage;
+import com.bluuminn.simplesns.model.PostSearchCursor;
+import com.bluuminn.simplesns.model.PostSearchResult;
+import com.bluuminn.simplesns.service.PostSearchService;
 import com.bluuminn.simplesns.service.PostService;
+import com.bluuminn.simplesns.service.TimelineService;
+import com.bluuminn.simplesns.service.TrendingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,17 +23,25 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
@@ -40,6 +56,15 @@ class PostControllerTest {
     @MockBean
     private PostService postService;
 
+    @MockBean
+    private TimelineService timelineService;
+
+    @MockBean
+    private PostSearchService postSearchService;
+
+    @MockBean
+    private TrendingService trendingService;
+
     @DisplayName("포스트 작성")
     @WithMockUser
     @Test
@@ -182,7 +207,7 @@ class PostControllerTest {
     @WithMockUser
     @Test
     void get_posts() throws Exception {
-        when(postService.list(any())).thenReturn(Page.empty());
+        when(postService.list(any(), any(), anyBoolean(), any())).thenReturn(PostPage.exact(Page.empty()));
 
         mockMvc.perform(get("/api/v1/posts")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -190,11 +215,45 @@ class PostControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @DisplayName("포스트 목록을 좋아요 정보와 함께 조회")
+    @WithMockUser
+    @Test
+    void get_posts_with_likes() throws Exception {
+        Post post = Post.fromEntity(PostEntityFixture.get(1, "username", 1)).withLikes(3, true);
+        when(postService.list(any(), any(), eq(true), any())).thenReturn(PostPage.exact(new PageImpl<>(List.of(post))));
+
+        mockMvc.perform(get("/api/v1/posts")
+                        .param("withLikes", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.content[0].likeCount").value(3))
+                .andExpect(jsonPath("$.result.content[0].likedByMe").value(true));
+    }
+
+    @DisplayName("포스트 목록 조회 시 전체 개수 계산 방식을 함께 반환")
+    @WithMockUser
+    @Test
+    void get_posts_with_count_strategy() throws Exception {
+        Post post = Post.fromEntity(PostEntityFixture.get(1, "username", 1));
+        when(postService.list(any(), any(), anyBoolean(), any()))
+                .thenReturn(PostPage.approximate(new SliceImpl<>(List.of(post), PageRequest.of(0, 20), false), 1000L));
+
+        mockMvc.perform(get("/api/v1/posts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.content[0].id").value(1))
+                .andExpect(jsonPath("$.result.totalElements").value(1000))
+                .andExpect(jsonPath("$.result.totalPages").value(50))
+                .andExpect(jsonPath("$.result.countStrategy").value(CountStrategy.APPROXIMATE.name()));
+    }
+
     @DisplayName("포스트 목록 조회 시 로그인 하지 않은 경우")
     @WithAnonymousUser
     @Test
     void not_login_when_get_posts() throws Exception {
-        when(postService.list(any())).thenReturn(Page.empty());
+        when(postService.list(any(), any(), anyBoolean(), any())).thenReturn(PostPage.exact(Page.empty()));
 
         mockMvc.perform(get("/api/v1/posts")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -206,7 +265,7 @@ class PostControllerTest {
     @WithMockUser
     @Test
     void get_my_posts() throws Exception {
-        when(postService.my(any(), any())).thenReturn(Page.empty());
+        when(postService.my(any(), any(), anyBoolean(), any())).thenReturn(PostPage.exact(Page.empty()));
 
         mockMvc.perform(get("/api/v1/posts/my")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -218,7 +277,7 @@ class PostControllerTest {
     @WithAnonymousUser
     @Test
     void not_login_when_get_my_posts() throws Exception {
-        when(postService.my(any(), any())).thenReturn(Page.empty());
+        when(postService.my(any(), any(), anyBoolean(), any())).thenReturn(PostPage.exact(Page.empty()));
 
         mockMvc.perform(get("/api/v1/posts/my")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -226,6 +285,33 @@ class PostControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @DisplayName("포스트 목록 커서 조회")
+    @WithMockUser
+    @Test
+    void get_posts_by_cursor() throws Exception {
+        when(postService.scroll(any(), anyInt())).thenReturn(new SliceImpl<>(List.of()));
+
+        mockMvc.perform(get("/api/v1/posts")
+                        .param("after", "10")
+                        .param("size", "5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("내 포스트 목록 커서 조회")
+    @WithMockUser
+    @Test
+    void get_my_posts_by_cursor() throws Exception {
+        when(postService.myScroll(any(), any(), anyInt())).thenReturn(new SliceImpl<>(List.of()));
+
+        mockMvc.perform(get("/api/v1/posts/my")
+                        .param("after", "")
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isOk());
+    }
+
     @DisplayName("좋아요")
     @WithMockUser
     @Test
@@ -257,4 +343,168 @@ class PostControllerTest {
                 ).andDo(print())
                 .andExpect(status().isNotFound());
     }
+
+    @DisplayName("댓글 작성")
+    @WithMockUser
+    @Test
+    void comment() throws Exception {
+        mockMvc.perform(post("/api/v1/posts/1/comments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new PostCommentRequest("comment")))
+                ).andDo(print())
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("댓글 작성 시 로그인 하지 않은 경우")
+    @WithAnonymousUser
+    @Test
+    void not_login_when_comment() throws Exception {
+        mockMvc.perform(post("/api/v1/posts/1/comments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new PostCommentRequest("comment")))
+                ).andDo(print())
+                .andExpect(status().isUnauthorized());
+    }
+
+    @DisplayName("댓글 작성 시 포스트가 없는 경우")
+    @WithMockUser
+    @Test
+    void not_exist_post_when_comment() throws Exception {
+        doThrow(new SnsApplicationException(ErrorCode.POST_NOT_FOUND)).when(postService).comment(any(), any(), any());
+
+        mockMvc.perform(post("/api/v1/posts/1/comments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new PostCommentRequest("comment")))
+                ).andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
+    @DisplayName("댓글 목록 조회")
+    @WithMockUser
+    @Test
+    void get_comments() throws Exception {
+        when(postService.getComments(any(), any())).thenReturn(Page.empty());
+
+        mockMvc.perform(get("/api/v1/posts/1/comments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("타임라인 조회")
+    @WithMockUser
+    @Test
+    void get_timeline() throws Exception {
+        when(timelineService.timeline(any(), any(), anyInt()))
+                .thenReturn(new SliceImpl<>(List.of(Post.fromEntity(PostEntityFixture.get(1, "username", 1)))));
+
+        mockMvc.perform(get("/api/v1/posts/timeline")
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("타임라인 조회 시 로그인 하지 않은 경우")
+    @WithAnonymousUser
+    @Test
+    void not_login_when_get_timeline() throws Exception {
+        mockMvc.perform(get("/api/v1/posts/timeline")
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isUnauthorized());
+    }
+
+    @DisplayName("포스트 상세 조회")
+    @WithMockUser
+    @Test
+    void get_post() throws Exception {
+        when(postService.getPost(1)).thenReturn(Post.fromEntity(PostEntityFixture.get(1, "username", 1)));
+
+        mockMvc.perform(get("/api/v1/posts/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("포스트 상세 조회 시 포스트가 없는 경우")
+    @WithMockUser
+    @Test
+    void not_exist_when_get_post() throws Exception {
+        when(postService.getPost(1)).thenThrow(new SnsApplicationException(ErrorCode.POST_NOT_FOUND));
+
+        mockMvc.perform(get("/api/v1/posts/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
+    @DisplayName("여러 포스트 조회")
+    @WithMockUser
+    @Test
+    void get_posts_by_ids() throws Exception {
+        when(postService.getPosts(List.of(2, 1))).thenReturn(List.of(Post.fromEntity(PostEntityFixture.get(2, "username", 1))));
+
+        mockMvc.perform(get("/api/v1/posts")
+                        .param("ids", "2,1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.posts[0].id").value(2))
+                .andExpect(jsonPath("$.result.missingIds[0]").value(1));
+    }
+
+    @DisplayName("여러 포스트 조회 시 요청 개수가 잘못된 경우")
+    @WithMockUser
+    @Test
+    void invalid_ids_when_get_posts_by_ids() throws Exception {
+        when(postService.getPosts(any())).thenThrow(new SnsApplicationException(ErrorCode.INVALID_REQUEST));
+
+        mockMvc.perform(get("/api/v1/posts")
+                        .param("ids", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @DisplayName("여러 포스트 조회 시 커서 페이징 파라미터를 같이 보낸 경우")
+    @WithMockUser
+    @Test
+    void ids_with_after_when_get_posts_by_ids() throws Exception {
+        mockMvc.perform(get("/api/v1/posts")
+                        .param("ids", "2,1")
+                        .param("after", "10")
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @DisplayName("포스트 검색")
+    @WithMockUser
+    @Test
+    void search_posts() throws Exception {
+        Post post = Post.fromEntity(PostEntityFixture.get(3, "username", 1));
+        when(postSearchService.search(eq("spring"), any(), anyInt()))
+                .thenReturn(new PostSearchResult(List.of(post), new PostSearchCursor(0.5f, 3), true));
+
+        mockMvc.perform(get("/api/v1/posts/search")
+                        .param("q", "spring")
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.content[0].id").value(3))
+                .andExpect(jsonPath("$.result.nextCursor").value("0.5_3"));
+    }
+
+    @DisplayName("인기 포스트 조회")
+    @WithMockUser
+    @Test
+    void trending_posts() throws Exception {
+        when(trendingService.trending(anyInt())).thenReturn(List.of(Post.fromEntity(PostEntityFixture.get(3, "username", 1))));
+
+        mockMvc.perform(get("/api/v1/posts/trending")
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result[0].id").value(3));
+    }
 }
@@ -5,6 +5,7 @@ import com.bluuminn.simplesns.controller.request.UserLoginRequest;
 import com.bluuminn.simplesns.exception.ErrorCode;
 import com.bluuminn.simplesns.exception.SnsApplicationException;
 import com.bluuminn.simplesns.model.User;
+import com.bluuminn.simplesns.service.AlarmService;
 import com.bluuminn.simplesns.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -13,13 +14,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithAnonymousUser;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
@@ -34,6 +44,9 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private AlarmService alarmService;
+
     @DisplayName("회원가입")
     @Test
     void join() throws Exception {
@@ -108,4 +121,80 @@ class UserControllerTest {
                 ).andDo(print())
                 .andExpect(status().isUnauthorized());
     }
+
+    @DisplayName("알람 목록 조회")
+    @WithMockUser
+    @Test
+    void alarm() throws Exception {
+        when(alarmService.alarmList(any(), any())).thenReturn(Page.empty());
+
+        mockMvc.perform(get("/api/v1/users/alarm")
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("알람 목록 조회 시 로그인 하지 않은 경우")
+    @WithAnonymousUser
+    @Test
+    void not_login_when_alarm() throws Exception {
+        mockMvc.perform(get("/api/v1/users/alarm")
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isUnauthorized());
+    }
+
+    @DisplayName("알람 구독")
+    @WithMockUser
+    @Test
+    void subscribe_alarm() throws Exception {
+        when(alarmService.connectAlarm(any())).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/v1/users/alarm/subscribe")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                ).andDo(print())
+                .andExpect(request().asyncStarted());
+    }
+
+    @DisplayName("알람 구독 시 로그인 하지 않은 경우")
+    @WithAnonymousUser
+    @Test
+    void not_login_when_subscribe_alarm() throws Exception {
+        mockMvc.perform(get("/api/v1/users/alarm/subscribe")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                ).andDo(print())
+                .andExpect(status().isUnauthorized());
+    }
+
+    @DisplayName("팔로우")
+    @WithMockUser
+    @Test
+    void follow() throws Exception {
+        mockMvc.perform(post("/api/v1/users/2/follow")
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("팔로우 시 이미 팔로우 한 경우")
+    @WithMockUser
+    @Test
+    void already_followed_when_follow() throws Exception {
+        doThrow(new SnsApplicationException(ErrorCode.ALREADY_FOLLOWED)).when(userService).follow(any(), any());
+
+        mockMvc.perform(post("/api/v1/users/2/follow")
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isConflict());
+    }
+
+    @DisplayName("언팔로우")
+    @WithMockUser
+    @Test
+    void unfollow() throws Exception {
+        mockMvc.perform(delete("/api/v1/users/2/follow")
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(print())
+                .andExpect(status().isOk());
+    }
 }
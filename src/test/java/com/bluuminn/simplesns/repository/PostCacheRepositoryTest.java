@@ -0,0 +1,62 @@
+package com.bluuminn.simplesns.repository;
+
+import com.bluuminn.simplesns.fixture.PostEntityFixture;
+import com.bluuminn.simplesns.model.Post;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostCacheRepositoryTest {
+    private final InMemoryPostSecondLevelCache secondLevelCache = new InMemoryPostSecondLevelCache();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private PostCacheRepository postCacheRepository() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("secondLevelCache", secondLevelCache);
+        return new PostCacheRepository(60_000L, 100L, beanFactory.getBeanProvider(PostSecondLevelCache.class), new SimpleMeterRegistry());
+    }
+
+    private Optional<Post> load(Integer postId) {
+        loads.incrementAndGet();
+        return Optional.of(Post.fromEntity(PostEntityFixture.get(postId, "username", 1)));
+    }
+
+    @DisplayName("1차 캐시 miss 시 2차 캐시에서 읽는 경우")
+    @Test
+    void read_from_second_level_cache() {
+        postCacheRepository().getPost(1, this::load);
+        assertThat(loads).hasValue(1);
+
+        // 다른 인스턴스(빈 1차 캐시)에서도 2차 캐시에 있으므로 DB를 읽지 않는다
+        Optional<Post> post = postCacheRepository().getPost(1, this::load);
+        assertThat(post).map(Post::getId).contains(1);
+        assertThat(loads).hasValue(1);
+    }
+
+    @DisplayName("삭제 시 두 계층 모두에서 제거되는 경우")
+    @Test
+    void delete_from_both_levels() {
+        PostCacheRepository postCacheRepository = postCacheRepository();
+        postCacheRepository.getPost(1, this::load);
+
+        postCacheRepository.deletePost(1);
+
+        assertThat(secondLevelCache.get(1)).isEmpty();
+        postCacheRepository.getPost(1, this::load);
+        assertThat(loads).hasValue(2);
+    }
+
+    @DisplayName("존재하지 않는 포스트는 캐시하지 않는 경우")
+    @Test
+    void not_cache_missing_post() {
+        PostCacheRepository postCacheRepository = postCacheRepository();
+        assertThat(postCacheRepository.getPost(1, postId -> Optional.empty())).isEmpty();
+        assertThat(postCacheRepository.getPost(1, this::load)).isPresent();
+    }
+}
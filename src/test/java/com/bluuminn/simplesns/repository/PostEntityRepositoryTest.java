@@ -0,0 +1,77 @@
+package com.bluuminn.simplesns.repository;
+
+import com.bluuminn.simplesns.domain.PostEntity;
+import com.bluuminn.simplesns.domain.UserEntity;
+import com.bluuminn.simplesns.model.Post;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest
+class PostEntityRepositoryTest {
+    @Autowired
+    private PostEntityRepository postEntityRepository;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            UserEntity user = userEntityRepository.save(UserEntity.of("user" + i, "password"));
+            for (int j = 0; j < 10; j++) {
+                postEntityRepository.save(PostEntity.of("title" + j, "body" + j, user));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @DisplayName("포스트 목록 조회 시 작성자를 같은 쿼리로 가져오는 경우")
+    @Test
+    void list_posts_without_n_plus_one() throws Exception {
+        statistics.clear();
+
+        Page<Post> posts = postEntityRepository.findAll(PageRequest.of(0, 20)).map(Post::fromEntity);
+
+        assertThat(posts.getContent()).hasSize(20);
+        assertThat(posts.getContent()).extracting(post -> post.getUser().getUsername()).doesNotContainNull();
+        // 포스트 + 작성자 select 1번, count 1번
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @DisplayName("내 포스트 목록 조회 시 작성자를 같은 쿼리로 가져오는 경우")
+    @Test
+    void my_posts_without_n_plus_one() throws Exception {
+        UserEntity user = userEntityRepository.findByUsername("user0").orElseThrow();
+        entityManager.clear();
+        statistics.clear();
+
+        Page<Post> posts = postEntityRepository.findAllByUser(user, PageRequest.of(0, 5)).map(Post::fromEntity);
+
+        assertThat(posts.getContent()).hasSize(5);
+        assertThat(posts.getContent()).allMatch(post -> post.getUser().getUsername().equals("user0"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,82 @@
+package com.bluuminn.simplesns.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrendingRepositoryTest {
+    private static final long HOUR = 60 * 60 * 1000L;
+    private static final long NOW = 1_000 * HOUR;
+
+    private final TrendingRepository trendingRepository = new TrendingRepository(24, 0.5, 10);
+
+    private void like(int postId, int count, long now) {
+        for (int i = 0; i < count; i++) {
+            trendingRepository.record(postId, now);
+        }
+    }
+
+    @DisplayName("최근 좋아요가 오래된 좋아요보다 높은 점수를 받는 경우")
+    @Test
+    void decay_old_likes() {
+        // 1번: 3시간 전 좋아요 6개 (6 * 0.5^3 = 0.75), 2번: 지금 좋아요 1개, 3번: 1시간 전 좋아요 3개 (1.5)
+        like(1, 6, NOW - 3 * HOUR);
+        like(3, 3, NOW - HOUR);
+        like(2, 1, NOW);
+
+        trendingRepository.refresh(NOW);
+
+        assertThat(trendingRepository.top(10)).containsExactly(3, 2, 1);
+        assertThat(trendingRepository.top(1)).containsExactly(3);
+    }
+
+    @DisplayName("window가 지난 좋아요는 순위에서 빠지는 경우")
+    @Test
+    void expire_after_window() {
+        like(1, 5, NOW);
+        like(2, 1, NOW + 23 * HOUR);
+
+        trendingRepository.refresh(NOW + 24 * HOUR);
+
+        assertThat(trendingRepository.top(10)).containsExactly(2);
+        assertThat(trendingRepository.size()).isEqualTo(1);
+    }
+
+    @DisplayName("삭제된 포스트가 refresh 전에도 순위에서 빠지는 경우")
+    @Test
+    void remove_deleted_post() {
+        like(1, 3, NOW);
+        like(2, 2, NOW);
+        like(3, 1, NOW);
+        trendingRepository.refresh(NOW);
+
+        trendingRepository.remove(1);
+
+        assertThat(trendingRepository.top(10)).containsExactly(2, 3);
+        trendingRepository.refresh(NOW);
+        assertThat(trendingRepository.top(10)).containsExactly(2, 3);
+        assertThat(trendingRepository.size()).isEqualTo(2);
+    }
+
+    @DisplayName("snapshot으로 저장한 순위를 다시 읽는 경우")
+    @Test
+    void restore_snapshot() throws IOException {
+        like(1, 2, NOW - HOUR);
+        like(2, 3, NOW);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        trendingRepository.writeSnapshot(new DataOutputStream(bytes));
+
+        TrendingRepository restored = new TrendingRepository(24, 0.5, 10);
+        restored.readSnapshot(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), NOW + HOUR);
+
+        // 2번: 3 * 0.5, 1번: 2 * 0.25
+        assertThat(restored.top(10)).containsExactly(2, 1);
+    }
+}
@@ -0,0 +1,55 @@
+package com.bluuminn.simplesns.service;
+
+import com.bluuminn.simplesns.domain.PostEntity;
+import com.bluuminn.simplesns.domain.UserEntity;
+import com.bluuminn.simplesns.model.Alarm;
+import com.bluuminn.simplesns.model.AlarmType;
+import com.bluuminn.simplesns.repository.PostEntityRepository;
+import com.bluuminn.simplesns.repository.UserEntityRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("h2")
+@SpringBootTest
+class AlarmServiceTest {
+    @Autowired
+    private AlarmService alarmService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    @Autowired
+    private PostEntityRepository postEntityRepository;
+
+    @DisplayName("좋아요/댓글 시 포스트 작성자에게 알람이 비동기로 저장되는 경우")
+    @Test
+    void alarms_are_saved_asynchronously() throws Exception {
+        UserEntity writer = userEntityRepository.save(UserEntity.of("alarm_writer", "password"));
+        UserEntity liker = userEntityRepository.save(UserEntity.of("alarm_liker", "password"));
+        PostEntity post = postEntityRepository.save(PostEntity.of("title", "body", writer));
+
+        postService.like(post.getId(), liker.getUsername());
+        postService.comment(post.getId(), liker.getUsername(), "comment");
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (alarmService.alarmList(writer.getUsername(), PageRequest.of(0, 10)).getTotalElements() < 2
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        Slice<Alarm> alarms = alarmService.scrollAlarms(writer.getUsername(), null, 10);
+        assertThat(alarms.getContent()).extracting(Alarm::getAlarmType)
+                .containsExactly(AlarmType.NEW_COMMENT_ON_POST, AlarmType.NEW_LIKE_ON_POST);
+        assertThat(alarms.getContent()).allMatch(alarm -> alarm.getArgs().getFromUserId().equals(liker.getId()));
+    }
+}
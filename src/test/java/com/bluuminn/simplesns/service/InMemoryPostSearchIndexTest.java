@@ -0,0 +1,164 @@
+package com.bluuminn.simplesns.service;
+
+import com.bluuminn.simplesns.model.PostSearchCursor;
+import com.bluuminn.simplesns.model.event.PostChangedEvent;
+import com.bluuminn.simplesns.repository.PostEntityRepository;
+import com.bluuminn.simplesns.repository.PostSearchDocument;
+import com.bluuminn.simplesns.repository.PostSearchHit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InMemoryPostSearchIndexTest {
+    private final PostEntityRepository postEntityRepository = mock(PostEntityRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final InMemoryPostSearchIndex index = new InMemoryPostSearchIndex(
+            postEntityRepository, transactionTemplate, new SimpleMeterRegistry());
+
+    @DisplayName("title에 검색어가 있는 포스트가 body에만 있는 포스트보다 먼저 나오는 경우")
+    @Test
+    void rank_title_match_first() {
+        index.index(1, "Spring Boot", "cache tutorial");
+        index.index(2, "daily log", "spring boot and cache");
+        index.index(3, "Spring cache", "boot");
+
+        List<PostSearchHit> hits = index.search("spring boot", null, 10);
+
+        // 1: 1.0 + 1.0, 3: 1.0 + 0.4, 2: 0.4 + 0.4
+        assertThat(hits).extracting(PostSearchHit::getId).containsExactly(1, 3, 2);
+    }
+
+    @DisplayName("모든 검색어를 포함한 포스트만 찾는 경우")
+    @Test
+    void match_all_terms() {
+        index.index(1, "spring", "boot");
+        index.index(2, "spring", "security");
+
+        assertThat(index.search("Spring, BOOT!", null, 10)).extracting(PostSearchHit::getId).containsExactly(1);
+        assertThat(index.search("spring jpa", null, 10)).isEmpty();
+    }
+
+    @DisplayName("수정/삭제된 포스트가 검색 결과에 반영되는 경우")
+    @Test
+    void reindex_and_remove() {
+        index.index(1, "spring", "boot");
+        index.index(2, "spring", "boot");
+
+        index.index(1, "kotlin", "coroutine");
+        index.remove(2);
+
+        assertThat(index.search("spring", null, 10)).isEmpty();
+        assertThat(index.search("kotlin", null, 10)).extracting(PostSearchHit::getId).containsExactly(1);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @DisplayName("커서로 다음 페이지를 조회하는 경우")
+    @Test
+    void search_after_cursor() {
+        // id 순서가 뒤섞여서 색인되어도 posting list는 정렬된 상태를 유지한다
+        for (int postId : new int[]{5, 1, 4, 2, 3}) {
+            index.index(postId, "spring", "body");
+        }
+
+        List<PostSearchHit> first = index.search("spring", null, 2);
+        assertThat(first).extracting(PostSearchHit::getId).containsExactly(5, 4);
+
+        PostSearchHit last = first.get(first.size() - 1);
+        List<PostSearchHit> second = index.search("spring", new PostSearchCursor(last.getScore(), last.getId()), 10);
+        assertThat(second).extracting(PostSearchHit::getId).containsExactly(3, 2, 1);
+    }
+
+    @DisplayName("수정으로 title에서 body로 옮겨진 검색어는 body 점수를 받는 경우")
+    @Test
+    void reindex_title_to_body() {
+        index.index(1, "spring", "boot");
+        index.index(2, "spring boot", "jpa");
+
+        index.index(2, "jpa", "spring boot");
+
+        // 1: 1.0 + 0.4, 2: 0.4 + 0.4
+        assertThat(index.search("spring boot", null, 10)).extracting(PostSearchHit::getId).containsExactly(1, 2);
+    }
+
+    @DisplayName("compaction 전후의 검색 결과가 같은 경우")
+    @Test
+    void compact() {
+        for (int postId = 1; postId <= 100; postId++) {
+            index.index(postId, "spring", postId % 2 == 0 ? "even" : "odd");
+        }
+        for (int postId = 1; postId <= 100; postId += 3) {
+            index.remove(postId);
+        }
+        for (int postId = 2; postId <= 100; postId += 10) {
+            index.index(postId, "kotlin", "odd");
+        }
+        List<PostSearchHit> before = index.search("spring even", null, 100);
+        List<PostSearchHit> odd = index.search("odd", null, 100);
+
+        index.compact();
+
+        assertThat(index.search("spring even", null, 100)).usingRecursiveFieldByFieldElementComparator().isEqualTo(before);
+        assertThat(index.search("odd", null, 100)).usingRecursiveFieldByFieldElementComparator().isEqualTo(odd);
+        assertThat(before).extracting(PostSearchHit::getId).doesNotContain(4, 2, 100);
+        assertThat(odd).extracting(PostSearchHit::getId).contains(2, 12, 5).doesNotContain(1, 7);
+    }
+
+    @DisplayName("rebuild 도중 수정/삭제된 포스트를 scan이 옛 내용으로 덮어쓰지 않는 경우")
+    @Test
+    void rebuild_with_concurrent_changes() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        // 커밋된 상태: 2는 삭제, 3은 kotlin으로 수정
+        when(postEntityRepository.findSearchDocumentsByIdIn(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<Integer>>getArgument(0).contains(3) ? List.of(document(3, "kotlin")) : List.of());
+        // scan이 1을 읽은 뒤 이벤트가 먼저 반영되고, scan은 시작 시점의 옛 내용으로 2, 3을 읽는다
+        when(postEntityRepository.streamSearchDocuments()).thenReturn(Stream.of(document(1, "spring"), document(2, "spring"), document(3, "spring"))
+                .peek(document -> {
+                    if (document.getId() == 1) {
+                        index.onChanged(new PostChangedEvent(2, true));
+                        index.onChanged(new PostChangedEvent(3, false));
+                    }
+                }));
+
+        index.rebuild();
+
+        assertThat(index.search("spring", null, 10)).extracting(PostSearchHit::getId).containsExactly(1);
+        assertThat(index.search("kotlin", null, 10)).extracting(PostSearchHit::getId).containsExactly(3);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    private static PostSearchDocument document(int id, String title) {
+        return new PostSearchDocument() {
+            @Override
+            public Integer getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public String getBody() {
+                return "body";
+            }
+        };
+    }
+}
@@ -0,0 +1,158 @@
+package com.bluuminn.simplesns.service;
+
+import com.bluuminn.simplesns.domain.PostEntity;
+import com.bluuminn.simplesns.domain.UserEntity;
+import com.bluuminn.simplesns.exception.ErrorCode;
+import com.bluuminn.simplesns.exception.SnsApplicationException;
+import com.bluuminn.simplesns.model.AlarmType;
+import com.bluuminn.simplesns.model.event.AlarmEvent;
+import com.bluuminn.simplesns.model.event.PostLikedEvent;
+import com.bluuminn.simplesns.repository.LikeEntityRepository;
+import com.bluuminn.simplesns.repository.PostEntityRepository;
+import com.bluuminn.simplesns.repository.UserEntityRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("h2")
+@SpringBootTest(properties = {
+        "post.like.write-behind.enabled=true",
+        "post.like.write-behind.flush-interval-ms=50"
+})
+@Import(LikeWriteBufferTest.LikeEvents.class)
+class LikeWriteBufferTest {
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    @Autowired
+    private PostEntityRepository postEntityRepository;
+
+    @Autowired
+    private LikeEntityRepository likeEntityRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private LikeEvents likeEvents;
+
+    // flush에서 발행되는 이벤트를 기록한다
+    @TestConfiguration
+    static class LikeEvents {
+        private final List<PostLikedEvent> liked = new CopyOnWriteArrayList<>();
+        private final List<AlarmEvent> alarms = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        public void onLiked(PostLikedEvent event) {
+            liked.add(event);
+        }
+
+        @EventListener
+        public void onAlarm(AlarmEvent event) {
+            alarms.add(event);
+        }
+
+        boolean likeAlarmed(Integer postId, Integer fromUserId) {
+            return alarms.stream().anyMatch(event -> event.getAlarmType() == AlarmType.NEW_LIKE_ON_POST
+                    && event.getArgs().getTargetId().equals(postId) && event.getArgs().getFromUserId().equals(fromUserId));
+        }
+
+        boolean liked(Integer postId, Integer userId) {
+            return liked.stream().anyMatch(event -> event.getPostId().equals(postId) && event.getUserId().equals(userId));
+        }
+    }
+
+    private void awaitLiked(Integer postId, Integer userId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!likeEvents.liked(postId, userId) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    private void awaitLikeAlarmed(Integer postId, Integer userId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!likeEvents.likeAlarmed(postId, userId) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    @DisplayName("write-behind 모드에서 좋아요가 batch로 저장되는 경우")
+    @Test
+    void buffered_likes_are_flushed() throws Exception {
+        UserEntity writer = userEntityRepository.save(UserEntity.of("buffer_writer", "password"));
+        UserEntity liker = userEntityRepository.save(UserEntity.of("buffer_liker", "password"));
+        PostEntity post = postEntityRepository.save(PostEntity.of("title", "body", writer));
+
+        postService.like(post.getId(), writer.getUsername());
+        postService.like(post.getId(), liker.getUsername());
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (postService.likeCount(post.getId()) < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(postService.likeCount(post.getId())).isEqualTo(2);
+    }
+
+    @DisplayName("write-behind 모드에서 버퍼에 같은 좋아요가 있는 경우")
+    @Test
+    void duplicate_like_in_buffer() throws Exception {
+        UserEntity writer = userEntityRepository.save(UserEntity.of("buffer_duplicate", "password"));
+        PostEntity post = postEntityRepository.save(PostEntity.of("title", "body", writer));
+
+        postService.like(post.getId(), writer.getUsername());
+        SnsApplicationException e = Assertions.assertThrows(SnsApplicationException.class,
+                () -> postService.like(post.getId(), writer.getUsername()));
+        Assertions.assertEquals(ErrorCode.ALREADY_LIKED, e.getErrorCode());
+    }
+
+    @DisplayName("write-behind 모드에서 DB에 이미 있는 좋아요는 flush 후에도 좋아요 이벤트가 발행되지 않는 경우")
+    @Test
+    void no_event_for_duplicate_like_in_database() throws Exception {
+        UserEntity writer = userEntityRepository.save(UserEntity.of("buffer_event_writer", "password"));
+        UserEntity liker = userEntityRepository.save(UserEntity.of("buffer_event_liker", "password"));
+        UserEntity other = userEntityRepository.save(UserEntity.of("buffer_event_other", "password"));
+        PostEntity post = postEntityRepository.save(PostEntity.of("title", "body", writer));
+        transactionTemplate.executeWithoutResult(status -> likeEntityRepository.insertIfAbsent(liker.getId(), post.getId()));
+
+        postService.like(post.getId(), liker.getUsername());
+        // liker의 좋아요가 먼저 버퍼에 들어가므로 other의 이벤트가 발행될 때는 이미 flush 되었다
+        postService.like(post.getId(), other.getUsername());
+        awaitLiked(post.getId(), other.getId());
+
+        assertThat(postService.likeCount(post.getId())).isEqualTo(1);
+        assertThat(likeEvents.liked(post.getId(), other.getId())).isTrue();
+        assertThat(likeEvents.liked(post.getId(), liker.getId())).isFalse();
+    }
+
+    @DisplayName("write-behind 모드에서 DB에 이미 있는 좋아요를 다시 누르면 알람이 생기지 않는 경우")
+    @Test
+    void no_alarm_for_duplicate_like_in_database() throws Exception {
+        UserEntity writer = userEntityRepository.save(UserEntity.of("buffer_alarm_writer", "password"));
+        UserEntity liker = userEntityRepository.save(UserEntity.of("buffer_alarm_liker", "password"));
+        UserEntity other = userEntityRepository.save(UserEntity.of("buffer_alarm_other", "password"));
+        PostEntity post = postEntityRepository.save(PostEntity.of("title", "body", writer));
+        transactionTemplate.executeWithoutResult(status -> likeEntityRepository.insertIfAbsent(liker.getId(), post.getId()));
+
+        postService.like(post.getId(), liker.getUsername());
+        postService.like(post.getId(), other.getUsername());
+        awaitLikeAlarmed(post.getId(), other.getId());
+
+        assertThat(likeEvents.likeAlarmed(post.getId(), other.getId())).isTrue();
+        assertThat(likeEvents.likeAlarmed(post.getId(), liker.getId())).isFalse();
+    }
+}
@@ -0,0 +1,95 @@
+package com.bluuminn.simplesns.service;
+
+import com.bluuminn.simplesns.controller.request.PostCreateRequest;
+import com.bluuminn.simplesns.domain.UserEntity;
+import com.bluuminn.simplesns.repository.UserEntityRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("h2")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.jdbc.batch_size=50")
+class PostBulkCreateTest {
+    private static final int BATCH_SIZE = 50;
+    private static final AtomicInteger POST_INSERT_ROUND_TRIPS = new AtomicInteger();
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    @DisplayName("포스트 bulk 작성 시 insert가 batch 단위로 전송되는 경우")
+    @Test
+    void bulk_create_posts_in_batches() throws Exception {
+        UserEntity user = userEntityRepository.save(UserEntity.of("bulk_admin", "password"));
+        int count = 120;
+        List<PostCreateRequest> requests = IntStream.range(0, count)
+                .mapToObj(i -> new PostCreateRequest("title" + i, "body" + i))
+                .collect(Collectors.toList());
+
+        POST_INSERT_ROUND_TRIPS.set(0);
+        int created = postService.bulkCreate(requests, user.getUsername());
+
+        assertThat(created).isEqualTo(count);
+        assertThat(POST_INSERT_ROUND_TRIPS.get()).isEqualTo((count + BATCH_SIZE - 1) / BATCH_SIZE);
+    }
+
+    /**
+     * post insert 문이 DB로 실제 전송되는 횟수(execute / executeUpdate / executeBatch)를 센다.
+     */
+    @TestConfiguration
+    static class RoundTripCountingConfig {
+        @Bean
+        static BeanPostProcessor roundTripCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource) {
+                        return proxy(DataSource.class, bean, null);
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        private static <T> T proxy(Class<T> type, Object target, String sql) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+                if (result instanceof Connection && method.getName().equals("getConnection")) {
+                    return proxy(Connection.class, result, null);
+                }
+                if (result instanceof PreparedStatement && method.getName().equals("prepareStatement")) {
+                    return proxy(PreparedStatement.class, result, (String) args[0]);
+                }
+                if (sql != null && sql.toLowerCase().startsWith("insert into \"post\"")
+                        && (method.getName().equals("executeBatch") || method.getName().equals("executeUpdate") || method.getName().equals("execute"))) {
+                    POST_INSERT_ROUND_TRIPS.incrementAndGet();
+                }
+                return result;
+            }));
+        }
+    }
+}
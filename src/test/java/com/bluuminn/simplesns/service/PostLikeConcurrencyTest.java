@@ -0,0 +1,116 @@
+package com.bluuminn.simplesns.service;
+
+import com.bluuminn.simplesns.domain.PostEntity;
+import com.bluuminn.simplesns.domain.UserEntity;
+import com.bluuminn.simplesns.exception.ErrorCode;
+import com.bluuminn.simplesns.exception.SnsApplicationException;
+import com.bluuminn.simplesns.repository.PostEntityRepository;
+import com.bluuminn.simplesns.repository.UserEntityRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("h2")
+@SpringBootTest
+class PostLikeConcurrencyTest {
+    private static final int REQUESTS = 300;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    @Autowired
+    private PostEntityRepository postEntityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DisplayName("같은 유저가 동시에 좋아요를 여러 번 누르는 경우 한 번만 저장되는 경우")
+    @Test
+    void concurrent_likes_from_same_user() throws Exception {
+        UserEntity user = userEntityRepository.save(UserEntity.of("like_concurrency_user", "password"));
+        PostEntity post = postEntityRepository.save(PostEntity.of("title", "body", user));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger alreadyLiked = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    postService.like(post.getId(), user.getUsername());
+                    succeeded.incrementAndGet();
+                } catch (SnsApplicationException e) {
+                    if (e.getErrorCode() == ErrorCode.ALREADY_LIKED) {
+                        alreadyLiked.incrementAndGet();
+                    } else {
+                        throw e;
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Integer likeRows = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM \"like\" WHERE post_id = ?", Integer.class, post.getId());
+
+        assertThat(succeeded.get()).isEqualTo(1);
+        assertThat(alreadyLiked.get()).isEqualTo(REQUESTS - 1);
+        assertThat(likeRows).isEqualTo(1);
+        assertThat(postService.likeCount(post.getId())).isEqualTo(1);
+    }
+
+    @DisplayName("포스트를 읽은 뒤 수정 내용이 flush 되기 전에 좋아요가 커밋된 경우 좋아요 수가 유지되는 경우")
+    @Test
+    void like_between_load_and_flush_of_modify() throws Exception {
+        UserEntity user = userEntityRepository.save(UserEntity.of("like_modify_user", "password"));
+        PostEntity post = postEntityRepository.save(PostEntity.of("title", "body", user));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        // PostService.modify와 같은 순서: 조회 → (다른 트랜잭션의 좋아요 커밋) → 수정 → 커밋 시 flush
+        transactionTemplate.executeWithoutResult(status -> {
+            PostEntity loaded = postEntityRepository.findById(post.getId()).orElseThrow();
+            try {
+                executor.submit(() -> transactionTemplate.executeWithoutResult(
+                        likeStatus -> postEntityRepository.increaseLikeCount(post.getId()))).get(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            loaded.updateTitle("modified");
+            loaded.updateBody("modified");
+        });
+        executor.shutdown();
+
+        assertThat(postService.likeCount(post.getId())).isEqualTo(1);
+        assertThat(postEntityRepository.findById(post.getId()).orElseThrow().getTitle()).isEqualTo("modified");
+    }
+}
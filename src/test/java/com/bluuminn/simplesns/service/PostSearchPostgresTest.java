@@ -0,0 +1,141 @@
+package com.bluuminn.simplesns.service;
+
+import com.bluuminn.simplesns.domain.PostEntity;
+import com.bluuminn.simplesns.domain.UserEntity;
+import com.bluuminn.simplesns.model.Post;
+import com.bluuminn.simplesns.model.PostSearchResult;
+import com.bluuminn.simplesns.repository.PostEntityRepository;
+import com.bluuminn.simplesns.repository.UserEntityRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 컨테이너 없이 embedded PostgreSQL 바이너리를 띄워 tsvector/GIN 전문 검색을 검증한다.
+ * application.yml 설정(PostgreSQLDialect, schema-postgres.sql)을 그대로 사용한다.
+ */
+@SpringBootTest
+class PostSearchPostgresTest {
+    private static final Logger log = LoggerFactory.getLogger(PostSearchPostgresTest.class);
+    private static final EmbeddedPostgres POSTGRES = start();
+    private static final int BENCHMARK_POSTS = 1_000_000;
+    private static final int BENCHMARK_QUERIES = 200;
+
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    @Autowired
+    private PostEntityRepository postEntityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        POSTGRES.close();
+    }
+
+    @DisplayName("제목에 일치하는 포스트가 본문에 일치하는 포스트보다 먼저 조회되는 경우")
+    @Test
+    void rank_title_match_first() {
+        UserEntity user = userEntityRepository.save(UserEntity.of("fts_ranker", "password"));
+        PostEntity bodyMatch = postEntityRepository.save(PostEntity.of("other", "notes about tsvector internals", user));
+        PostEntity titleMatch = postEntityRepository.save(PostEntity.of("tsvector tips", "body", user));
+        postEntityRepository.save(PostEntity.of("unrelated", "nothing here", user));
+
+        PostSearchResult result = postSearchService.search("tsvector", null, 10);
+
+        assertThat(result.getPosts()).extracting(Post::getId).containsExactly(titleMatch.getId(), bodyMatch.getId());
+    }
+
+    @DisplayName("같은 점수의 검색 결과를 커서로 나눠 조회해도 중복/누락이 없는 경우")
+    @Test
+    void keyset_pagination_without_overlap() {
+        UserEntity user = userEntityRepository.save(UserEntity.of("fts_pager", "password"));
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(postEntityRepository.save(PostEntity.of("page " + i, "keysetword", user)).getId());
+        }
+
+        List<Integer> found = new ArrayList<>();
+        String cursor = null;
+        do {
+            PostSearchResult page = postSearchService.search("keysetword", cursor, 2);
+            page.getPosts().forEach(post -> found.add(post.getId()));
+            cursor = page.isHasNext() ? page.getNextCursor().toString() : null;
+        } while (cursor != null);
+
+        assertThat(found).hasSize(5).doesNotHaveDuplicates();
+        assertThat(new HashSet<>(found)).isEqualTo(expected);
+    }
+
+    /**
+     * 1M posts에서 검색 쿼리 latency(p50/p95/p99)를 측정한다. ./gradlew test -Dbenchmark=true 일 때만 실행된다.
+     * 자주 나오는 단어는 일치하는 모든 row에 대해 ts_rank를 계산하므로 희귀 단어보다 느리다.
+     */
+    @DisplayName("1M 포스트 전문 검색 benchmark")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @Test
+    void benchmark_search_latency() {
+        UserEntity user = userEntityRepository.save(UserEntity.of("fts_benchmark", "password"));
+        jdbcTemplate.update("INSERT INTO \"post\" (id, title, body, user_id, like_count, comment_count, registered_at) " +
+                "SELECT nextval('post_id_seq'), 'title ' || g, " +
+                "'body ' || md5(g::text) || ' ' || (ARRAY['spring', 'postgres', 'java', 'kotlin', 'search'])[1 + g % 5] || ' rare' || (g % 10000), " +
+                "?, 0, 0, NOW() FROM generate_series(1, ?) g", user.getId(), BENCHMARK_POSTS);
+        jdbcTemplate.execute("ANALYZE \"post\"");
+
+        for (String query : List.of("postgres", "rare42", "spring or kotlin")) {
+            long[] latencies = new long[BENCHMARK_QUERIES];
+            for (int i = 0; i < BENCHMARK_QUERIES; i++) {
+                long start = System.nanoTime();
+                postSearchService.search(query, null, 20);
+                latencies[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(latencies);
+            log.info("search benchmark posts={} query='{}' p50={}ms p95={}ms p99={}ms", BENCHMARK_POSTS, query,
+                    millis(latencies, 0.50), millis(latencies, 0.95), millis(latencies, 0.99));
+        }
+    }
+
+    private static double millis(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+}
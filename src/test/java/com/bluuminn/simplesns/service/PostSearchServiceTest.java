@@ -0,0 +1,76 @@
+package com.bluuminn.simplesns.service;
+
+import com.bluuminn.simplesns.domain.PostEntity;
+import com.bluuminn.simplesns.domain.UserEntity;
+import com.bluuminn.simplesns.exception.ErrorCode;
+import com.bluuminn.simplesns.exception.SnsApplicationException;
+import com.bluuminn.simplesns.model.Post;
+import com.bluuminn.simplesns.model.PostSearchResult;
+import com.bluuminn.simplesns.repository.PostEntityRepository;
+import com.bluuminn.simplesns.repository.UserEntityRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// H2에는 tsvector가 없으므로 LIKE fallback(post.search.full-text=false)으로 동작한다
+@ActiveProfiles("h2")
+@SpringBootTest
+class PostSearchServiceTest {
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    @Autowired
+    private PostEntityRepository postEntityRepository;
+
+    @DisplayName("제목 또는 본문에 검색어가 포함된 포스트를 커서로 나눠 조회하는 경우")
+    @Test
+    void search_posts() {
+        UserEntity user = userEntityRepository.save(UserEntity.of("search_writer", "password"));
+        PostEntity first = postEntityRepository.save(PostEntity.of("Fallback search", "body", user));
+        postEntityRepository.save(PostEntity.of("title", "nothing to see", user));
+        PostEntity second = postEntityRepository.save(PostEntity.of("title", "this body mentions FALLBACK", user));
+
+        PostSearchResult page = postSearchService.search("fallback", null, 1);
+        assertThat(page.getPosts()).extracting(Post::getId).containsExactly(second.getId());
+        assertThat(page.isHasNext()).isTrue();
+
+        PostSearchResult next = postSearchService.search("fallback", page.getNextCursor().toString(), 1);
+        assertThat(next.getPosts()).extracting(Post::getId).containsExactly(first.getId());
+        assertThat(next.isHasNext()).isFalse();
+    }
+
+    @DisplayName("검색어의 %, _ 가 wildcard가 아닌 문자로 검색되는 경우")
+    @Test
+    void search_posts_with_like_wildcards() {
+        UserEntity user = userEntityRepository.save(UserEntity.of("wildcard_writer", "password"));
+        PostEntity percent = postEntityRepository.save(PostEntity.of("discount 37% today", "body", user));
+        postEntityRepository.save(PostEntity.of("discount 37 today", "body", user));
+        PostEntity underscore = postEntityRepository.save(PostEntity.of("title", "use snake_case names", user));
+        postEntityRepository.save(PostEntity.of("title", "use snakeXcase names", user));
+
+        assertThat(postSearchService.search("37%", null, 10).getPosts()).extracting(Post::getId).containsExactly(percent.getId());
+        assertThat(postSearchService.search("snake_case", null, 10).getPosts()).extracting(Post::getId).containsExactly(underscore.getId());
+    }
+
+    @DisplayName("검색어가 비어 있는 경우")
+    @Test
+    void empty_query_when_search_posts() {
+        SnsApplicationException exception = Assertions.assertThrows(SnsApplicationException.class, () -> postSearchService.search(" ", null, 10));
+        Assertions.assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+    }
+
+    @DisplayName("커서 형식이 잘못된 경우")
+    @Test
+    void invalid_cursor_when_search_posts() {
+        SnsApplicationException exception = Assertions.assertThrows(SnsApplicationException.class, () -> postSearchService.search("fallback", "abc", 10));
+        Assertions.assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+    }
+}
@@ -6,22 +6,47 @@ import com.bluuminn.simplesns.exception.ErrorCode;
 import com.bluuminn.simplesns.exception.SnsApplicationException;
 import com.bluuminn.simplesns.fixture.PostEntityFixture;
 import com.bluuminn.simplesns.fixture.UserEntityFixture;
+import com.bluuminn.simplesns.model.CountStrategy;
+import com.bluuminn.simplesns.model.Post;
+import com.bluuminn.simplesns.model.PostPage;
+import com.bluuminn.simplesns.repository.CommentEntityRepository;
+import com.bluuminn.simplesns.repository.LikeEntityRepository;
+import com.bluuminn.simplesns.repository.PostCacheRepository;
+import com.bluuminn.simplesns.repository.PostFeedCacheRepository;
+import com.bluuminn.simplesns.repository.PostLikeCount;
 import com.bluuminn.simplesns.repository.PostEntityRepository;
 import com.bluuminn.simplesns.repository.UserEntityRepository;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.mock;
 import static org.mockito.BDDMockito.when;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 
 @SpringBootTest
@@ -36,6 +61,25 @@ class PostServiceTest {
     @MockBean
     private UserEntityRepository userEntityRepository;
 
+    @MockBean
+    private CommentEntityRepository commentEntityRepository;
+
+    @MockBean
+    private LikeEntityRepository likeEntityRepository;
+
+    @Autowired
+    private PostCacheRepository postCacheRepository;
+
+    @Autowired
+    private PostFeedCacheRepository postFeedCacheRepository;
+
+    // 테스트마다 같은 post id/페이지를 다른 mock으로 사용하므로 캐시를 비운다
+    @BeforeEach
+    void clearCache() {
+        postCacheRepository.clear();
+        postFeedCacheRepository.clear();
+    }
+
     @DisplayName("포스트 작성이 성공한 경우")
     @Test
     void create_posts_success() throws Exception {
@@ -168,7 +212,127 @@ class PostServiceTest {
     void get_posts_success() throws Exception {
         Pageable pageable = mock(Pageable.class);
         when(postEntityRepository.findAll(pageable)).thenReturn(Page.empty());
-        Assertions.assertDoesNotThrow(() -> postService.list(pageable));
+        Assertions.assertDoesNotThrow(() -> postService.list(pageable, CountStrategy.EXACT));
+    }
+
+    @DisplayName("포스트 목록 앞쪽 페이지는 캐시에서 읽고 포스트 작성 시 무효화되는 경우")
+    @Test
+    void get_posts_from_cache() throws Exception {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(postEntityRepository.findAll(pageable)).thenReturn(Page.empty());
+
+        postService.list(pageable, CountStrategy.EXACT);
+        postService.list(PageRequest.of(0, 20), CountStrategy.EXACT);
+        verify(postEntityRepository, times(1)).findAll(pageable);
+
+        UserEntity user = UserEntityFixture.get("username", "password", 1);
+        when(userEntityRepository.findByUsername("username")).thenReturn(Optional.of(user));
+        when(postEntityRepository.save(any())).thenReturn(mock(PostEntity.class));
+        postService.create("title", "body", "username");
+
+        postService.list(pageable, CountStrategy.EXACT);
+        verify(postEntityRepository, times(2)).findAll(pageable);
+    }
+
+    @DisplayName("포스트 목록 캐시가 비어 있을 때 동시 요청이 한 번만 조회하는 경우")
+    @Test
+    void get_posts_single_flight() throws Exception {
+        Pageable pageable = PageRequest.of(0, 20);
+        CountDownLatch loading = new CountDownLatch(1);
+        when(postEntityRepository.findAll(pageable)).thenAnswer(invocation -> {
+            loading.await();
+            return Page.empty();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<PostPage>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                results.add(executor.submit(() -> postService.list(pageable, CountStrategy.EXACT)));
+            }
+            Thread.sleep(100);
+            loading.countDown();
+            for (Future<PostPage> result : results) {
+                Assertions.assertNotNull(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(postEntityRepository, times(1)).findAll(pageable);
+    }
+
+    @DisplayName("포스트 목록을 추정 개수로 조회하는 경우 count 쿼리를 실행하지 않는다")
+    @Test
+    void get_posts_with_approximate_count() throws Exception {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(postEntityRepository.findSliceBy(pageable)).thenReturn(new SliceImpl<>(List.of(), pageable, true));
+        when(postEntityRepository.findApproximateCount()).thenReturn(1000L);
+
+        PostPage posts = postService.list(pageable, CountStrategy.APPROXIMATE);
+
+        Assertions.assertEquals(CountStrategy.APPROXIMATE, posts.getCountStrategy());
+        Assertions.assertEquals(1000L, posts.getTotalElements());
+        verify(postEntityRepository, never()).findAll(pageable);
+    }
+
+    @DisplayName("포스트 목록 추정 개수를 구할 수 없는 경우 정확한 count로 조회한다")
+    @Test
+    void get_posts_without_approximate_count() throws Exception {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(postEntityRepository.findApproximateCount()).thenReturn(-1L);
+        when(postEntityRepository.findAll(pageable)).thenReturn(Page.empty());
+
+        PostPage posts = postService.list(pageable, CountStrategy.APPROXIMATE);
+
+        Assertions.assertEquals(CountStrategy.EXACT, posts.getCountStrategy());
+    }
+
+    @DisplayName("내 포스트 목록을 전체 개수 없이 조회하는 경우")
+    @Test
+    void get_my_posts_without_count() throws Exception {
+        Pageable pageable = PageRequest.of(0, 20);
+        UserEntity user = UserEntityFixture.get("username", "password", 1);
+        when(userEntityRepository.findByUsername("username")).thenReturn(Optional.of(user));
+        when(postEntityRepository.findSliceByUser(user, pageable)).thenReturn(new SliceImpl<>(List.of(), pageable, false));
+
+        PostPage posts = postService.my("username", pageable, CountStrategy.NONE);
+
+        Assertions.assertEquals(CountStrategy.NONE, posts.getCountStrategy());
+        Assertions.assertNull(posts.getTotalElements());
+        verify(postEntityRepository, never()).findAllByUser(user, pageable);
+    }
+
+    @DisplayName("포스트 목록을 좋아요 정보와 함께 조회하는 경우")
+    @Test
+    void get_posts_with_likes() throws Exception {
+        Pageable pageable = PageRequest.of(0, 20);
+        UserEntity viewer = UserEntityFixture.get("viewer", "password", 3);
+        when(userEntityRepository.findByUsername("viewer")).thenReturn(Optional.of(viewer));
+        when(postEntityRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(
+                PostEntityFixture.get(2, "writer", 1), PostEntityFixture.get(1, "writer", 1))));
+        when(postEntityRepository.findLikeCountsByIdIn(List.of(2, 1))).thenReturn(List.of(likeCount(2, 5), likeCount(1, 0)));
+        when(likeEntityRepository.findLikedPostIds(3, List.of(2, 1))).thenReturn(List.of(2));
+
+        List<Post> posts = postService.list(pageable, "viewer", true, CountStrategy.EXACT).getPosts().getContent();
+
+        Assertions.assertEquals(5, posts.get(0).getLikeCount());
+        Assertions.assertTrue(posts.get(0).getLikedByMe());
+        Assertions.assertEquals(0, posts.get(1).getLikeCount());
+        Assertions.assertFalse(posts.get(1).getLikedByMe());
+    }
+
+    private static PostLikeCount likeCount(Integer postId, Integer likeCount) {
+        return new PostLikeCount() {
+            @Override
+            public Integer getId() {
+                return postId;
+            }
+
+            @Override
+            public Integer getLikeCount() {
+                return likeCount;
+            }
+        };
     }
 
     @DisplayName("내 포스트 목록 조회가 성공한 경우")
@@ -178,6 +342,120 @@ class PostServiceTest {
         UserEntity user = mock(UserEntity.class);
         when(userEntityRepository.findByUsername(any())).thenReturn(Optional.of(user));
         when(postEntityRepository.findAllByUser(user, pageable)).thenReturn(Page.empty());
-        Assertions.assertDoesNotThrow(() -> postService.my("", pageable));
+        Assertions.assertDoesNotThrow(() -> postService.my("", pageable, CountStrategy.EXACT));
+    }
+
+    @DisplayName("포스트 목록 커서 조회가 성공한 경우")
+    @Test
+    void scroll_posts_success() throws Exception {
+        when(postEntityRepository.findAllByIdLessThanOrderByIdDesc(eq(10), any())).thenReturn(new SliceImpl<>(List.of()));
+        Assertions.assertDoesNotThrow(() -> postService.scroll(10, 20));
+    }
+
+    @DisplayName("내 포스트 목록 커서 조회가 성공한 경우")
+    @Test
+    void scroll_my_posts_success() throws Exception {
+        UserEntity user = mock(UserEntity.class);
+        when(userEntityRepository.findByUsername(any())).thenReturn(Optional.of(user));
+        when(postEntityRepository.findAllByUserOrderByIdDesc(eq(user), any())).thenReturn(new SliceImpl<>(List.of()));
+        Assertions.assertDoesNotThrow(() -> postService.myScroll("", null, 20));
+    }
+
+    @DisplayName("좋아요 수 조회가 성공한 경우")
+    @Test
+    void like_count_success() throws Exception {
+        when(postEntityRepository.findLikeCountById(1)).thenReturn(Optional.of(3));
+        Assertions.assertEquals(3, postService.likeCount(1));
+    }
+
+    @DisplayName("좋아요 수 조회 시 포스트가 존재하지 않는 경우")
+    @Test
+    void not_exist_when_like_count() throws Exception {
+        when(postEntityRepository.findLikeCountById(1)).thenReturn(Optional.empty());
+        SnsApplicationException exception = Assertions.assertThrows(SnsApplicationException.class, () -> postService.likeCount(1));
+        Assertions.assertEquals(ErrorCode.POST_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @DisplayName("포스트 상세 조회 시 두 번째 조회부터는 캐시에서 읽는 경우")
+    @Test
+    void get_post_from_cache() throws Exception {
+        Integer postId = 1;
+        when(postEntityRepository.findById(postId)).thenReturn(Optional.of(PostEntityFixture.get(postId, "username", 1)));
+
+        Post first = postService.getPost(postId);
+        Post second = postService.getPost(postId);
+
+        Assertions.assertEquals(postId, first.getId());
+        Assertions.assertSame(first, second);
+        verify(postEntityRepository, times(1)).findById(postId);
+    }
+
+    @DisplayName("포스트 상세 조회 시 포스트가 존재하지 않는 경우")
+    @Test
+    void not_exist_when_get_post() throws Exception {
+        when(postEntityRepository.findById(1)).thenReturn(Optional.empty());
+        SnsApplicationException exception = Assertions.assertThrows(SnsApplicationException.class, () -> postService.getPost(1));
+        Assertions.assertEquals(ErrorCode.POST_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @DisplayName("여러 포스트 조회 시 요청 순서를 유지하고 캐시에 없는 포스트만 한 번에 조회하는 경우")
+    @Test
+    void get_posts_by_ids() throws Exception {
+        when(postEntityRepository.findById(1)).thenReturn(Optional.of(PostEntityFixture.get(1, "username", 1)));
+        postService.getPost(1);
+        when(postEntityRepository.findAllByIdIn(Set.of(2, 3))).thenReturn(List.of(PostEntityFixture.get(3, "username", 1)));
+
+        List<Post> posts = postService.getPosts(List.of(3, 1, 2, 3));
+
+        Assertions.assertEquals(List.of(3, 1), posts.stream().map(Post::getId).collect(Collectors.toList()));
+        verify(postEntityRepository, times(1)).findAllByIdIn(Set.of(2, 3));
+    }
+
+    @DisplayName("여러 포스트 조회 시 요청 개수가 제한을 넘는 경우")
+    @Test
+    void too_many_ids_when_get_posts() throws Exception {
+        List<Integer> postIds = new ArrayList<>();
+        for (int i = 1; i <= 101; i++) {
+            postIds.add(i);
+        }
+        SnsApplicationException exception = Assertions.assertThrows(SnsApplicationException.class, () -> postService.getPosts(postIds));
+        Assertions.assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+    }
+
+    @DisplayName("여러 포스트 조회 시 비어 있거나 양수가 아닌 id가 있는 경우")
+    @Test
+    void invalid_ids_when_get_posts() throws Exception {
+        for (List<Integer> postIds : List.of(Arrays.asList(1, null, 2), List.of(1, 0), List.of(-1))) {
+            SnsApplicationException exception = Assertions.assertThrows(SnsApplicationException.class, () -> postService.getPosts(postIds));
+            Assertions.assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+        }
+        verify(postEntityRepository, never()).findAllByIdIn(any());
+    }
+
+    @DisplayName("댓글 작성이 성공한 경우")
+    @Test
+    void comment_success() throws Exception {
+        String username = "username";
+        Integer postId = 1;
+
+        PostEntity postEntity = PostEntityFixture.get(postId, username, 1);
+        when(userEntityRepository.findByUsername(username)).thenReturn(Optional.of(postEntity.getUser()));
+        when(postEntityRepository.findById(postId)).thenReturn(Optional.of(postEntity));
+        when(postEntityRepository.getById(postId)).thenReturn(postEntity);
+
+        Assertions.assertDoesNotThrow(() -> postService.comment(postId, username, "comment"));
+    }
+
+    @DisplayName("댓글 작성 시 포스트가 존재하지 않는 경우")
+    @Test
+    void not_exist_post_when_comment() throws Exception {
+        String username = "username";
+        Integer postId = 1;
+
+        when(userEntityRepository.findByUsername(username)).thenReturn(Optional.of(mock(UserEntity.class)));
+        when(postEntityRepository.findById(postId)).thenReturn(Optional.empty());
+
+        SnsApplicationException exception = Assertions.assertThrows(SnsApplicationException.class, () -> postService.comment(postId, username, "comment"));
+        Assertions.assertEquals(ErrorCode.POST_NOT_FOUND, exception.getErrorCode());
     }
 }
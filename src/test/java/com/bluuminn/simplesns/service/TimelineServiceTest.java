@@ -0,0 +1,93 @@
+package com.bluuminn.simplesns.service;
+
+import com.bluuminn.simplesns.domain.UserEntity;
+import com.bluuminn.simplesns.model.Post;
+import com.bluuminn.simplesns.repository.UserEntityRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// follower 2명 이상인 작성자는 celebrity(fan-out-on-read)로 처리된다
+@ActiveProfiles("h2")
+@SpringBootTest(properties = "timeline.celebrity-threshold=2")
+class TimelineServiceTest {
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserEntityRepository userEntityRepository;
+
+    @DisplayName("팔로우 한 user의 글과 본인 글이 최신순으로 조회되는 경우")
+    @Test
+    void timeline_contains_followee_posts() throws Exception {
+        UserEntity viewer = userEntityRepository.save(UserEntity.of("timeline_viewer", "password"));
+        UserEntity writer = userEntityRepository.save(UserEntity.of("timeline_writer", "password"));
+        UserEntity stranger = userEntityRepository.save(UserEntity.of("timeline_stranger", "password"));
+
+        // timeline을 먼저 만들어 두고 이후 글이 fan-out 되는지 확인한다
+        userService.follow(viewer.getUsername(), writer.getId());
+        assertThat(timelineService.timeline(viewer.getUsername(), null, 10).getContent()).isEmpty();
+
+        postService.create("writer-1", "body", writer.getUsername());
+        postService.create("stranger-1", "body", stranger.getUsername());
+        postService.create("viewer-1", "body", viewer.getUsername());
+        postService.create("writer-2", "body", writer.getUsername());
+        awaitTimelineSize(viewer.getUsername(), 3);
+
+        Slice<Post> first = timelineService.timeline(viewer.getUsername(), null, 2);
+        assertThat(first.getContent()).extracting(Post::getTitle).containsExactly("writer-2", "viewer-1");
+        assertThat(first.hasNext()).isTrue();
+
+        Integer cursor = first.getContent().get(1).getId();
+        Slice<Post> second = timelineService.timeline(viewer.getUsername(), cursor, 2);
+        assertThat(second.getContent()).extracting(Post::getTitle).containsExactly("writer-1");
+        assertThat(second.hasNext()).isFalse();
+
+        userService.unfollow(viewer.getUsername(), writer.getId());
+        assertThat(timelineService.timeline(viewer.getUsername(), null, 10).getContent())
+                .extracting(Post::getTitle).containsExactly("viewer-1");
+    }
+
+    @DisplayName("celebrity의 글은 fan-out 되지 않고 조회 시점에 merge 되는 경우")
+    @Test
+    void timeline_merges_celebrity_posts() throws Exception {
+        UserEntity viewer = userEntityRepository.save(UserEntity.of("timeline_fan", "password"));
+        UserEntity other = userEntityRepository.save(UserEntity.of("timeline_other_fan", "password"));
+        UserEntity celebrity = userEntityRepository.save(UserEntity.of("timeline_celebrity", "password"));
+        UserEntity friend = userEntityRepository.save(UserEntity.of("timeline_friend", "password"));
+
+        userService.follow(viewer.getUsername(), celebrity.getId());
+        userService.follow(other.getUsername(), celebrity.getId());
+        userService.follow(viewer.getUsername(), friend.getId());
+        assertThat(userEntityRepository.findFollowerCountById(celebrity.getId())).contains(2);
+
+        postService.create("friend-1", "body", friend.getUsername());
+        postService.create("celebrity-1", "body", celebrity.getUsername());
+        postService.create("friend-2", "body", friend.getUsername());
+        awaitTimelineSize(viewer.getUsername(), 3);
+
+        assertThat(timelineService.timeline(viewer.getUsername(), null, 10).getContent())
+                .extracting(Post::getTitle).containsExactly("friend-2", "celebrity-1", "friend-1");
+        assertThat(timelineService.timeline(other.getUsername(), null, 10).getContent())
+                .extracting(Post::getTitle).containsExactly("celebrity-1");
+    }
+
+    // follower fan-out은 전용 thread에서 처리된다
+    private void awaitTimelineSize(String username, int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (timelineService.timeline(username, null, 10).getContent().size() < size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+}
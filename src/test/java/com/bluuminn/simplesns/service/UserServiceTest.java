@@ -18,6 +18,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -112,4 +114,20 @@ class UserServiceTest {
         SnsApplicationException e = assertThrows(SnsApplicationException.class, () -> userService.login(username, wrongPassword));
         assertThat(e.getErrorCode()).isEqualTo(ErrorCode.INVALID_PASSWORD);
     }
-}
\ No newline at end of file
+
+    @DisplayName("인증 시 캐시된 유저가 있으면 DB를 다시 조회하지 않는 경우")
+    @Test
+    void load_user_from_cache() throws Exception {
+        // given
+        String username = "cached_username";
+        UserEntity fixture = UserEntityFixture.get(username, "password", 1);
+
+        // when
+        when(userEntityRepository.findByUsername(username)).thenReturn(Optional.of(fixture));
+        userService.loadUserByUsername(username);
+        userService.loadUserByUsername(username);
+
+        // then
+        verify(userEntityRepository, times(1)).findByUsername(username);
+    }
+}
@@ -0,0 +1,43 @@
+package com.bluuminn.simplesns.util;
+
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtTokenVerifierTest {
+    private static final String KEY = "bluuminn.sns-application-2023.secret_key";
+
+    private final JwtTokenVerifier verifier = new JwtTokenVerifier(KEY, 100L, new SimpleMeterRegistry());
+
+    @DisplayName("토큰 검증 시 username과 만료 시간을 반환하는 경우")
+    @Test
+    void verify_token() throws Exception {
+        String token = JwtTokenUtils.generateToken("username", KEY, 60_000L);
+
+        VerifiedToken verified = verifier.verify(token);
+
+        assertThat(verified.getUsername()).isEqualTo("username");
+        assertThat(verified.isExpired()).isFalse();
+        assertThat(verifier.verify(token)).isSameAs(verified);
+    }
+
+    @DisplayName("토큰 검증 시 만료된 토큰인 경우")
+    @Test
+    void expired_token() throws Exception {
+        String token = JwtTokenUtils.generateToken("username", KEY, -1_000L);
+
+        assertThrows(JwtException.class, () -> verifier.verify(token));
+    }
+
+    @DisplayName("토큰 검증 시 다른 키로 서명된 토큰인 경우")
+    @Test
+    void invalid_signature() throws Exception {
+        String token = JwtTokenUtils.generateToken("username", KEY + ".other", 60_000L);
+
+        assertThrows(JwtException.class, () -> verifier.verify(token));
+    }
+}